@@ -0,0 +1,88 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.medavis.lct.core.asset.AssetLoader;
+import de.medavis.lct.core.license.LicenseLoader;
+import de.medavis.lct.core.license.LicenseMappingLoader;
+import de.medavis.lct.core.list.ComponentData;
+import de.medavis.lct.core.list.ComponentLister;
+import de.medavis.lct.core.metadata.ComponentMetaDataLoader;
+
+/**
+ * Complete listing of components, including loading the configuration from local files.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ComponentListerBenchmark {
+
+    @Param({"1000", "10000"})
+    private int components;
+
+    @Param({"10", "100", "1000"})
+    private int rules;
+
+    private Path configurationDirectory;
+    private ComponentLister componentLister;
+    private byte[] bom;
+
+    @Setup
+    public void setUp() throws IOException {
+        configurationDirectory = Files.createTempDirectory("lct-benchmark");
+        componentLister = new ComponentLister(new AssetLoader(false), new ComponentMetaDataLoader(), new LicenseLoader(), new LicenseMappingLoader(),
+                SyntheticData.writeConfiguration(configurationDirectory, rules, components, SyntheticData.LICENSES.length, "http://localhost"));
+        bom = SyntheticData.bomJson(components);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        SyntheticData.deleteRecursively(configurationDirectory);
+    }
+
+    @Benchmark
+    public List<ComponentData> listComponents() {
+        return componentLister.listComponents(new ByteArrayInputStream(bom));
+    }
+
+}
@@ -0,0 +1,84 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.medavis.lct.core.asset.AssetLoader;
+import de.medavis.lct.core.license.LicenseLoader;
+import de.medavis.lct.core.license.LicenseMappingLoader;
+import de.medavis.lct.core.list.ComponentData;
+import de.medavis.lct.core.list.ComponentLister;
+import de.medavis.lct.core.metadata.ComponentMetaDataLoader;
+import de.medavis.lct.core.outputter.FreemarkerOutputter;
+
+/**
+ * Rendering of the default component manifest. The output is discarded, so only the template processing is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FreemarkerOutputterBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int components;
+
+    private final FreemarkerOutputter outputter = new FreemarkerOutputter();
+    private List<ComponentData> componentData;
+
+    @Setup
+    public void setUp() throws IOException {
+        Path configurationDirectory = Files.createTempDirectory("lct-benchmark");
+        try {
+            componentData = new ComponentLister(new AssetLoader(false), new ComponentMetaDataLoader(), new LicenseLoader(), new LicenseMappingLoader(),
+                    SyntheticData.writeConfiguration(configurationDirectory, components / 10, components, SyntheticData.LICENSES.length, "http://localhost"))
+                    .listComponents(new ByteArrayInputStream(SyntheticData.bomJson(components)));
+        } finally {
+            SyntheticData.deleteRecursively(configurationDirectory);
+        }
+    }
+
+    @Benchmark
+    public void output() throws IOException {
+        outputter.output(componentData, Writer.nullWriter(), null);
+    }
+
+}
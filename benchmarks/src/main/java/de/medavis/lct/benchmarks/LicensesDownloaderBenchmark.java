@@ -0,0 +1,155 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.medavis.lct.core.UserLogger;
+import de.medavis.lct.core.asset.AssetLoader;
+import de.medavis.lct.core.downloader.LicenseFileDownloader;
+import de.medavis.lct.core.downloader.LicenseFileHandler;
+import de.medavis.lct.core.downloader.LicensesDownloader;
+import de.medavis.lct.core.license.LicenseLoader;
+import de.medavis.lct.core.license.LicenseMappingLoader;
+import de.medavis.lct.core.list.ComponentLister;
+import de.medavis.lct.core.metadata.ComponentMetaDataLoader;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+/**
+ * Download of all licenses of a BOM from a local WireMock server. Nothing is cached and downloaded files are discarded, so every invocation downloads all
+ * licenses again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LicensesDownloaderBenchmark {
+
+    private static final int LICENSE_FILE_SIZE = 20 * 1024;
+
+    @Param({"1000"})
+    private int components;
+
+    @Param({"10", "100"})
+    private int licenses;
+
+    @Param({"1", "4"})
+    private int parallelDownloads;
+
+    private WireMockServer server;
+    private Path configurationDirectory;
+    private LicensesDownloader licensesDownloader;
+    private byte[] bom;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = new WireMockServer(options().dynamicPort());
+        server.start();
+        byte[] licenseText = new byte[LICENSE_FILE_SIZE];
+        Arrays.fill(licenseText, (byte) 'x');
+        server.stubFor(get(urlPathMatching("/licenses/.*")).willReturn(aResponse()
+                .withHeader("Content-Type", "text/plain")
+                .withBody(licenseText)));
+
+        configurationDirectory = Files.createTempDirectory("lct-benchmark");
+        ComponentLister componentLister = new ComponentLister(new AssetLoader(false), new ComponentMetaDataLoader(), new LicenseLoader(),
+                new LicenseMappingLoader(), SyntheticData.writeConfiguration(configurationDirectory, 0, components, licenses, server.baseUrl()));
+        licensesDownloader = new LicensesDownloader(componentLister, new LicenseFileDownloader());
+        bom = SyntheticData.bomJson(components, licenses);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        server.stop();
+        SyntheticData.deleteRecursively(configurationDirectory);
+    }
+
+    @Benchmark
+    public void download() {
+        licensesDownloader.download(SilentUserLogger.INSTANCE, new ByteArrayInputStream(bom), DiscardingLicenseFileHandler.INSTANCE, false,
+                parallelDownloads);
+    }
+
+    private enum SilentUserLogger implements UserLogger {
+        INSTANCE;
+
+        @Override
+        public void info(String format, Object... args) {
+            // Output would distort the measurement
+        }
+
+        @Override
+        public void error(String format, Object... args) {
+            // Output would distort the measurement
+        }
+    }
+
+    private enum DiscardingLicenseFileHandler implements LicenseFileHandler {
+        INSTANCE;
+
+        @Override
+        public boolean isCached(String license) {
+            return false;
+        }
+
+        @Override
+        public void save(String license, String extension, byte[] content) {
+            // Discard content
+        }
+
+        @Override
+        public void save(String license, String extension, InputStream content) throws IOException {
+            content.transferTo(OutputStream.nullOutputStream());
+        }
+
+        @Override
+        public void copyFromCache(String license) {
+            // Nothing is cached
+        }
+    }
+
+}
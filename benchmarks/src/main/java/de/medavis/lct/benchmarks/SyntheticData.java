@@ -0,0 +1,243 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.benchmarks;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.medavis.lct.core.Configuration;
+
+/**
+ * Generator for synthetic BOMs and configuration files of arbitrary size. The output is deterministic, so results of different runs are comparable.
+ * <p>
+ * Components are spread over one group per ten components and cycle through a fixed set of licenses. Metadata rules resemble real configurations: most
+ * rules match a single component by literal group and name, the others match whole groups by prefix or several components by regular expression.
+ */
+public final class SyntheticData {
+
+    static final String[] LICENSES = {"Apache-2.0", "MIT", "EPL-2.0", "BSD-3-Clause", "LGPL-2.1-only", "GPL-2.0-with-classpath-exception"};
+    private static final String[] LICENSE_ALIASES = {"Apache License 2.0", "The MIT License", "Eclipse Public License 2.0", "BSD 3-Clause License",
+            "GNU Lesser General Public License", "GPL2 w/ CPE"};
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private SyntheticData() {
+    }
+
+    public static String group(int component) {
+        return "org.example.group" + component / 10;
+    }
+
+    public static String name(int component) {
+        return "artifact-" + component;
+    }
+
+    public static String license(int component, int licenseCount) {
+        return component % licenseCount < LICENSES.length ? LICENSES[component % licenseCount] : "License-" + component % licenseCount;
+    }
+
+    public static byte[] bomJson(int components) {
+        return bomJson(components, LICENSES.length);
+    }
+
+    /**
+     * @param licenseCount Number of distinct licenses used by the components
+     */
+    public static byte[] bomJson(int components, int licenseCount) {
+        Map<String, Object> bom = new LinkedHashMap<>();
+        bom.put("bomFormat", "CycloneDX");
+        bom.put("specVersion", "1.5");
+        bom.put("version", 1);
+        bom.put("metadata", Map.of("component", componentJson(-1, licenseCount)));
+        List<Object> componentList = new ArrayList<>(components);
+        for (int i = 0; i < components; i++) {
+            componentList.add(componentJson(i, licenseCount));
+        }
+        bom.put("components", componentList);
+        return writeJson(bom);
+    }
+
+    private static Map<String, Object> componentJson(int component, int licenseCount) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("type", "library");
+        result.put("group", component < 0 ? "org.example" : group(component));
+        result.put("name", component < 0 ? "application" : name(component));
+        result.put("version", "1." + Math.abs(component) % 10 + ".0");
+        result.put("licenses", List.of(Map.of("license", Map.of("id", license(Math.max(component, 0), licenseCount)))));
+        result.put("externalReferences", List.of(
+                Map.of("type", "website", "url", "https://example.org/" + result.get("name")),
+                Map.of("type", "vcs", "url", "https://github.com/example/" + result.get("name"))));
+        return result;
+    }
+
+    public static byte[] bomXml(int components) {
+        StringBuilder xml = new StringBuilder(components * 600)
+                .append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<bom xmlns=\"http://cyclonedx.org/schema/bom/1.5\" version=\"1\">\n")
+                .append("  <metadata>\n");
+        appendComponentXml(xml, "org.example", "application", 0);
+        xml.append("  </metadata>\n  <components>\n");
+        for (int i = 0; i < components; i++) {
+            appendComponentXml(xml, group(i), name(i), i);
+        }
+        xml.append("  </components>\n</bom>\n");
+        return xml.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void appendComponentXml(StringBuilder xml, String group, String name, int component) {
+        xml.append("    <component type=\"library\">\n")
+           .append("      <group>").append(group).append("</group>\n")
+           .append("      <name>").append(name).append("</name>\n")
+           .append("      <version>1.").append(component % 10).append(".0</version>\n")
+           .append("      <licenses><license><id>").append(license(component, LICENSES.length)).append("</id></license></licenses>\n")
+           .append("      <externalReferences>\n")
+           .append("        <reference type=\"website\"><url>https://example.org/").append(name).append("</url></reference>\n")
+           .append("        <reference type=\"vcs\"><url>https://github.com/example/").append(name).append("</url></reference>\n")
+           .append("      </externalReferences>\n")
+           .append("    </component>\n");
+    }
+
+    /**
+     * Create metadata rules for a BOM created by {@link #bomJson(int)} with the same number of components. Six out of ten rules match one component by
+     * literal group and name, two match a whole group by prefix, one matches by name only and one matches several components by regular expression.
+     */
+    public static byte[] componentMetadata(int rules, int components) {
+        List<Object> result = new ArrayList<>(rules);
+        for (int i = 0; i < rules; i++) {
+            int component = (int) ((long) i * 7919 % Math.max(components, 1));
+            Map<String, Object> rule = new LinkedHashMap<>();
+            switch (i % 10) {
+                case 6:
+                case 7:
+                    rule.put("groupMatch", group(component).replace(".", "\\.") + ".*");
+                    break;
+                case 8:
+                    rule.put("nameMatch", name(component));
+                    break;
+                case 9:
+                    rule.put("groupMatch", "org\\.example\\..*");
+                    rule.put("nameMatch", "artifact-" + component % 10 + "\\d*");
+                    break;
+                default:
+                    rule.put("groupMatch", group(component).replace(".", "\\."));
+                    rule.put("nameMatch", name(component));
+            }
+            rule.put("ignore", i % 20 == 19);
+            if (i % 3 == 0) {
+                rule.put("mappedName", "Mapped " + name(component));
+            }
+            if (i % 4 == 0) {
+                rule.put("url", "https://mapped.example.org/" + name(component));
+            }
+            if (i % 5 == 0) {
+                rule.put("licenses", List.of(LICENSES[i % LICENSES.length]));
+            }
+            if (i % 2 == 0) {
+                rule.put("attributionNotices", List.of("Copyright (c) " + (2000 + i % 25) + " Example " + i));
+            }
+            result.add(rule);
+        }
+        return writeJson(result);
+    }
+
+    /**
+     * @param downloadBaseUrl Base URL of the download URL of each license, which is the base URL followed by <code>/licenses/&lt;name&gt;</code>
+     */
+    public static byte[] licenses(int licenseCount, String downloadBaseUrl) {
+        List<Object> result = new ArrayList<>(licenseCount);
+        for (int i = 0; i < licenseCount; i++) {
+            String name = license(i, licenseCount);
+            result.add(Map.of(
+                    "name", name,
+                    "url", "https://licenses.example.org/" + name,
+                    "downloadUrl", downloadBaseUrl + "/licenses/" + name));
+        }
+        return writeJson(result);
+    }
+
+    public static byte[] licenseMappings() {
+        List<Object> result = new ArrayList<>(LICENSES.length);
+        for (int i = 0; i < LICENSES.length; i++) {
+            result.add(Map.of("alias", LICENSE_ALIASES[i], "canonicalName", LICENSES[i]));
+        }
+        return writeJson(result);
+    }
+
+    /**
+     * Write a synthetic configuration to <code>directory</code>.
+     */
+    public static Configuration writeConfiguration(Path directory, int rules, int components, int licenseCount, String downloadBaseUrl) {
+        try {
+            URL metadata = write(directory.resolve("metadata.json"), componentMetadata(rules, components));
+            URL licenses = write(directory.resolve("licenses.json"), licenses(licenseCount, downloadBaseUrl));
+            URL licenseMappings = write(directory.resolve("licensemappings.json"), licenseMappings());
+            return new Configuration() {
+                @Override
+                public Optional<URL> getComponentMetadataUrl() {
+                    return Optional.of(metadata);
+                }
+
+                @Override
+                public Optional<URL> getLicensesUrl() {
+                    return Optional.of(licenses);
+                }
+
+                @Override
+                public Optional<URL> getLicenseMappingsUrl() {
+                    return Optional.of(licenseMappings);
+                }
+            };
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not write configuration to " + directory, e);
+        }
+    }
+
+    public static void deleteRecursively(Path directory) throws IOException {
+        try (var paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.sorted((a, b) -> b.compareTo(a))::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private static URL write(Path file, byte[] content) throws IOException {
+        Files.write(file, content);
+        return file.toUri().toURL();
+    }
+
+    private static byte[] writeJson(Object value) {
+        try {
+            return MAPPER.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not create synthetic data.", e);
+        }
+    }
+
+}
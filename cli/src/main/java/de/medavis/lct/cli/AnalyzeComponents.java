@@ -22,6 +22,8 @@ package de.medavis.lct.cli;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
 import java.util.concurrent.Callable;
 import java.util.stream.Collectors;
 
@@ -34,6 +36,8 @@ import de.medavis.lct.core.license.LicenseLoader;
 import de.medavis.lct.core.license.LicenseMappingLoader;
 import de.medavis.lct.core.list.ComponentLister;
 import de.medavis.lct.core.metadata.ComponentMetaDataLoader;
+import de.medavis.lct.core.urlchecker.CachingHttpUrlChecker;
+import de.medavis.lct.core.urlchecker.OnlineHttpUrlChecker;
 
 import static de.medavis.lct.cli.AnalyzeComponents.AnalyzeMode.MISSING_URL;
 
@@ -53,6 +57,8 @@ class AnalyzeComponents implements Callable<Void> {
 
     @Mixin
     private ConfigurationOptions configurationOptions;
+    @Mixin
+    private UrlCacheOptions urlCacheOptions;
 
     @Override
     public Void call() throws Exception {
@@ -63,18 +69,23 @@ class AnalyzeComponents implements Callable<Void> {
     }
 
     private void analyzeMissingUrl() throws IOException {
-        var componentLister = new ComponentLister(new AssetLoader(true), new ComponentMetaDataLoader(), new LicenseLoader(), new LicenseMappingLoader(),
-                configurationOptions);
-        try(var bomInputStream = new FileInputStream(inputFile)) {
-            var componentsWithoutUrl = componentLister.listComponents(bomInputStream).stream()
-                                                      .filter(component -> component.getUrl() == null)
-                                                      .collect(Collectors.toList());
-            if(componentsWithoutUrl.isEmpty()) {
-                System.out.println("No component without URL detected.");
-            } else {
-                System.out.printf("Detected %d components without URL:%n", componentsWithoutUrl.size());
-                componentsWithoutUrl.forEach(component -> System.out.println(component.getName()));
-            }
+        try (var urlChecker = urlCacheOptions.open(new OnlineHttpUrlChecker());
+             var bomInputStream = new FileInputStream(inputFile)) {
+            var componentLister = new ComponentLister(new AssetLoader(new CachingHttpUrlChecker(urlChecker)), new ComponentMetaDataLoader(), new LicenseLoader(),
+                    new LicenseMappingLoader(), configurationOptions);
+            analyzeMissingUrl(componentLister, bomInputStream, System.out);
+        }
+    }
+
+    static void analyzeMissingUrl(ComponentLister componentLister, InputStream bomInputStream, PrintStream out) {
+        var componentsWithoutUrl = componentLister.listComponents(bomInputStream).stream()
+                                                  .filter(component -> component.getUrl() == null)
+                                                  .collect(Collectors.toList());
+        if(componentsWithoutUrl.isEmpty()) {
+            out.println("No component without URL detected.");
+        } else {
+            out.printf("Detected %d components without URL:%n", componentsWithoutUrl.size());
+            componentsWithoutUrl.forEach(component -> out.println(component.getName()));
         }
     }
 
@@ -19,10 +19,16 @@
  */
 package de.medavis.lct.cli;
 
+import com.google.common.io.Closer;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Callable;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Mixin;
@@ -32,34 +38,69 @@ import de.medavis.lct.core.asset.AssetLoader;
 import de.medavis.lct.core.license.LicenseLoader;
 import de.medavis.lct.core.license.LicenseMappingLoader;
 import de.medavis.lct.core.list.ComponentLister;
+import de.medavis.lct.core.list.IncrementalComponentCache;
 import de.medavis.lct.core.metadata.ComponentMetaDataLoader;
+import de.medavis.lct.core.metrics.RecordingMetricsSink;
 import de.medavis.lct.core.outputter.FreemarkerOutputter;
+import de.medavis.lct.core.outputter.OutputFormat;
+import de.medavis.lct.core.urlchecker.CachingHttpUrlChecker;
+import de.medavis.lct.core.urlchecker.OnlineHttpUrlChecker;
 
 @Command(name = "create-manifest", description = "Create component manifest")
 class CreateManifest implements Callable<Void> {
 
-    @Option(names = {"--in", "-i"}, required = true)
-    private File inputFile;
+    @Option(names = {"--in", "-i"}, required = true,
+            description = "BOM to create the manifest from. Can be given several times to create one manifest for the components of all BOMs.")
+    private List<File> inputFiles;
     @Option(names = {"--out", "-o"}, required = true)
     private File outputFile;
     @Option(names = {"--template", "-t"})
     private String template;
+    @Option(names = {"--format", "-f"}, defaultValue = "TEMPLATE",
+            description = "Format of the manifest, one of ${COMPLETION-CANDIDATES}. --template is only used for TEMPLATE. Default: ${DEFAULT-VALUE}")
+    private OutputFormat format;
     @Option(names = {"--ignoreUnavailableUrl", "-iuu"}, defaultValue = "false")
     private boolean ignoreUnavailableUrl;
+    @Option(names = {"--incremental-cache", "-ic"},
+            description = "File in which the enriched components are kept between runs. Only components which have been added or changed since the previous "
+                          + "run are enriched again. The cache is discarded when the configuration has changed.")
+    private Path incrementalCachePath;
     @Mixin
     private ConfigurationOptions configurationOptions;
+    @Mixin
+    private UrlCacheOptions urlCacheOptions;
 
     @Override
     public Void call() throws Exception {
-        var componentLister = new ComponentLister(new AssetLoader(ignoreUnavailableUrl), new ComponentMetaDataLoader(), new LicenseLoader(), new LicenseMappingLoader(),
-                configurationOptions);
-        try (var bomInputStream = new FileInputStream(inputFile); var outputWriter = new FileWriter(outputFile)) {
-            var components = componentLister.listComponents(bomInputStream);
-            new FreemarkerOutputter().output(components, outputWriter, getTemplateUrl());
+        var metricsSink = new RecordingMetricsSink();
+        if (ignoreUnavailableUrl) {
+            try (var urlChecker = urlCacheOptions.open(new OnlineHttpUrlChecker())) {
+                createManifest(new AssetLoader(new CachingHttpUrlChecker(urlChecker), metricsSink), metricsSink);
+            }
+        } else {
+            createManifest(new AssetLoader(false, metricsSink), metricsSink);
         }
+        metricsSink.printSummary(new ConsoleUserLogger());
         return null;
     }
 
+    private void createManifest(AssetLoader assetLoader, RecordingMetricsSink metricsSink) throws IOException {
+        var componentLister = new ComponentLister(assetLoader, new ComponentMetaDataLoader(), new LicenseLoader(), new LicenseMappingLoader(),
+                configurationOptions, metricsSink);
+        try (Closer closer = Closer.create()) {
+            if (incrementalCachePath != null) {
+                componentLister = componentLister.withIncrementalCache(closer.register(new IncrementalComponentCache(incrementalCachePath)));
+            }
+            List<InputStream> bomInputStreams = new ArrayList<>(inputFiles.size());
+            for (File inputFile : inputFiles) {
+                bomInputStreams.add(closer.register(new FileInputStream(inputFile)));
+            }
+            var outputWriter = closer.register(new FileWriter(outputFile));
+            format.write(componentLister.streamMergedComponents(bomInputStreams), outputWriter, FreemarkerOutputter.shared().withMetricsSink(metricsSink),
+                    getTemplateUrl());
+        }
+    }
+
     private String getTemplateUrl() {
         return StringToUrlConverter.convert(template)
                 .map(URL::toString)
@@ -0,0 +1,191 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.cli;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Mixin;
+import picocli.CommandLine.Option;
+
+import de.medavis.lct.core.UserLogger;
+import de.medavis.lct.core.asset.AssetLoader;
+import de.medavis.lct.core.license.LicenseLoader;
+import de.medavis.lct.core.license.LicenseMappingLoader;
+import de.medavis.lct.core.list.ComponentLister;
+import de.medavis.lct.core.metadata.ComponentMetaDataLoader;
+import de.medavis.lct.core.metrics.RecordingMetricsSink;
+import de.medavis.lct.core.outputter.FreemarkerOutputter;
+import de.medavis.lct.core.outputter.OutputFormat;
+import de.medavis.lct.core.urlchecker.CachingHttpUrlChecker;
+import de.medavis.lct.core.urlchecker.OnlineHttpUrlChecker;
+
+@Command(name = "create-manifests", description = "Create component manifests for several BOMs at once")
+class CreateManifests implements Callable<Integer> {
+
+    @Option(names = {"--in", "-i"}, required = true, arity = "1..*",
+            description = "BOM files or directories containing BOM files. Use @path/to/file to read them from a file, one per line.")
+    private List<Path> inputs;
+    @Option(names = {"--include"}, defaultValue = "*.{json,xml}",
+            description = "Glob for the BOM files in input directories. Default: ${DEFAULT-VALUE}")
+    private String include;
+    @Option(names = {"--out", "-o"}, required = true,
+            description = "Directory for the manifests. Each manifest is named like its BOM, with the file extension of the format.")
+    private Path outputDirectory;
+    @Option(names = {"--template", "-t"})
+    private String template;
+    @Option(names = {"--format", "-f"}, defaultValue = "TEMPLATE",
+            description = "Format of the manifests, one of ${COMPLETION-CANDIDATES}. --template is only used for TEMPLATE. Default: ${DEFAULT-VALUE}")
+    private OutputFormat format;
+    @Option(names = {"--extension", "-e"},
+            description = "File extension of the manifests. Default: html for TEMPLATE, json for JSON and csv for CSV")
+    private String extension;
+    @Option(names = {"--ignoreUnavailableUrl", "-iuu"}, defaultValue = "false")
+    private boolean ignoreUnavailableUrl;
+    @Option(names = {"--parallel", "-p"},
+            description = "Number of BOMs which are processed concurrently. Default: number of processors")
+    private int parallel = Runtime.getRuntime().availableProcessors();
+    @Mixin
+    private ConfigurationOptions configurationOptions;
+    @Mixin
+    private UrlCacheOptions urlCacheOptions;
+
+    private final UserLogger userLogger = new ConsoleUserLogger();
+    private final RecordingMetricsSink metricsSink = new RecordingMetricsSink();
+
+    @Override
+    public Integer call() throws Exception {
+        if (parallel < 1) {
+            throw new IllegalArgumentException("--parallel must be positive");
+        }
+        Map<Path, Path> manifestsByBom = collectManifests();
+        Files.createDirectories(outputDirectory);
+        int exitCode;
+        if (ignoreUnavailableUrl) {
+            try (var urlChecker = urlCacheOptions.open(new OnlineHttpUrlChecker())) {
+                exitCode = createManifests(manifestsByBom, new AssetLoader(new CachingHttpUrlChecker(urlChecker), metricsSink));
+            }
+        } else {
+            exitCode = createManifests(manifestsByBom, new AssetLoader(false, metricsSink));
+        }
+        metricsSink.printSummary(userLogger);
+        return exitCode;
+    }
+
+    private Map<Path, Path> collectManifests() throws IOException {
+        List<Path> boms = new ArrayList<>();
+        for (Path input : inputs) {
+            if (Files.isDirectory(input)) {
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(input, include)) {
+                    files.forEach(file -> {
+                        if (Files.isRegularFile(file)) {
+                            boms.add(file);
+                        }
+                    });
+                }
+            } else {
+                boms.add(input);
+            }
+        }
+        boms.sort(null);
+
+        Map<Path, Path> manifestsByBom = new LinkedHashMap<>();
+        Map<Path, Path> bomsByManifest = new LinkedHashMap<>();
+        String manifestExtension = extension != null ? extension : format.getFileExtension();
+        for (Path bom : boms) {
+            Path manifest = outputDirectory.resolve(removeExtension(bom.getFileName().toString()) + "." + manifestExtension);
+            Path otherBom = bomsByManifest.putIfAbsent(manifest.toAbsolutePath().normalize(), bom);
+            if (otherBom != null) {
+                throw new IllegalArgumentException(String.format("Manifests of %s and %s would both be written to %s.", otherBom, bom, manifest));
+            }
+            manifestsByBom.put(bom, manifest);
+        }
+        for (Path bom : boms) {
+            if (bomsByManifest.containsKey(bom.toAbsolutePath().normalize())) {
+                throw new IllegalArgumentException(String.format("BOM %s would be overwritten by a manifest.", bom));
+            }
+        }
+        return manifestsByBom;
+    }
+
+    private static String removeExtension(String fileName) {
+        int extensionStart = fileName.lastIndexOf('.');
+        return extensionStart > 0 ? fileName.substring(0, extensionStart) : fileName;
+    }
+
+    private int createManifests(Map<Path, Path> manifestsByBom, AssetLoader assetLoader) throws InterruptedException {
+        // Load the configuration once for all BOMs
+        var componentLister = new ComponentLister(assetLoader, new ComponentMetaDataLoader(), new LicenseLoader(), new LicenseMappingLoader(),
+                configurationOptions, metricsSink).withLoadedConfiguration();
+        String templateUrl = getTemplateUrl();
+        FreemarkerOutputter outputter = FreemarkerOutputter.shared().withMetricsSink(metricsSink);
+        ExecutorService executor = Executors.newFixedThreadPool(parallel);
+        try {
+            Map<Path, Future<?>> results = new LinkedHashMap<>();
+            manifestsByBom.forEach((bom, manifest) -> results.put(bom, executor.submit(() -> {
+                createManifest(componentLister, outputter, templateUrl, bom, manifest);
+                return null;
+            })));
+
+            int failed = 0;
+            for (Map.Entry<Path, Future<?>> result : results.entrySet()) {
+                try {
+                    result.getValue().get();
+                    userLogger.info("Created %s from %s.%n", manifestsByBom.get(result.getKey()), result.getKey());
+                } catch (ExecutionException e) {
+                    userLogger.error("Could not create manifest from %s: %s%n", result.getKey(), e.getCause().getMessage());
+                    failed++;
+                }
+            }
+            userLogger.info("Created %d of %d manifests.%n", results.size() - failed, results.size());
+            return failed == 0 ? 0 : 1;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void createManifest(ComponentLister componentLister, FreemarkerOutputter outputter, String templateUrl, Path bom, Path manifest)
+            throws IOException {
+        try (InputStream bomInputStream = Files.newInputStream(bom); Writer outputWriter = Files.newBufferedWriter(manifest, StandardCharsets.UTF_8)) {
+            format.write(componentLister.streamComponents(bomInputStream), outputWriter, outputter, templateUrl);
+        }
+    }
+
+    private String getTemplateUrl() {
+        return StringToUrlConverter.convert(template)
+                .map(URL::toString)
+                .orElse(null);
+    }
+}
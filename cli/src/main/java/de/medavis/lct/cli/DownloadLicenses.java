@@ -25,15 +25,20 @@ import java.nio.file.Path;
 import java.util.concurrent.Callable;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Mixin;
+import picocli.CommandLine.Model.CommandSpec;
 import picocli.CommandLine.Option;
+import picocli.CommandLine.ParameterException;
+import picocli.CommandLine.Spec;
 
 import de.medavis.lct.core.asset.AssetLoader;
 import de.medavis.lct.core.downloader.LicenseFileDownloader;
 import de.medavis.lct.core.downloader.LicensesDownloader;
+import de.medavis.lct.core.downloader.SharedLicenseCache;
 import de.medavis.lct.core.license.LicenseLoader;
 import de.medavis.lct.core.license.LicenseMappingLoader;
 import de.medavis.lct.core.list.ComponentLister;
 import de.medavis.lct.core.metadata.ComponentMetaDataLoader;
+import de.medavis.lct.core.metrics.RecordingMetricsSink;
 
 @Command(name = "download-licenses", description = "Download license texts")
 class DownloadLicenses implements Callable<Void> {
@@ -45,17 +50,48 @@ class DownloadLicenses implements Callable<Void> {
     @Option(names = {"--fail-dynamic-license", "-fdl"}, defaultValue = "false",
             description = "If enabled, download fails if a license is encountered that is not part of the license configuration.")
     private boolean failOnDynamicLicense;
+    @Option(names = {"--parallel-downloads", "-pd"}, defaultValue = "" + LicensesDownloader.DEFAULT_PARALLEL_DOWNLOADS,
+            description = "Number of licenses that are downloaded concurrently. Default: ${DEFAULT-VALUE}")
+    private int parallelDownloads;
+    @Option(names = {"--max-downloads-per-host", "-mdh"}, defaultValue = "" + LicensesDownloader.DEFAULT_MAX_DOWNLOADS_PER_HOST,
+            description = "Maximum number of concurrent downloads from the same host. Default: ${DEFAULT-VALUE}")
+    private int maxDownloadsPerHost;
+    @Option(names = {"--license-cache", "-lc"},
+            description = "Directory of a license cache shared by several output directories. Licenses found there are copied instead of downloaded.")
+    private Path licenseCachePath;
+    @Option(names = {"--link-from-cache", "-lfc"}, defaultValue = "false",
+            description = "If enabled, cached licenses are linked read-only instead of copied if the file system supports it. The linked files must not be modified. Requires --license-cache.")
+    private boolean linkFromCache;
+    @Option(names = {"--revalidate-cache", "-rc"}, defaultValue = "false",
+            description = "If enabled, cached licenses are only used if the server confirms that they have not been modified. Requires --license-cache.")
+    private boolean revalidateCache;
     @Mixin
     private ConfigurationOptions configurationOptions;
+    @Spec
+    private CommandSpec spec;
 
     @Override
     public Void call() throws Exception {
-        var componentLister = new ComponentLister(new AssetLoader(), new ComponentMetaDataLoader(), new LicenseLoader(), new LicenseMappingLoader(),
-                configurationOptions);
-        LicensesDownloader licensesDownloader = new LicensesDownloader(componentLister, new LicenseFileDownloader());
-        try (var bomInputStream = new FileInputStream(inputFile)) {
-            licensesDownloader.download(new ConsoleUserLogger(), bomInputStream, new FilesystemLicenseFileHandler(outputPath), failOnDynamicLicense);
+        if (revalidateCache && licenseCachePath == null) {
+            throw new ParameterException(spec.commandLine(), "--revalidate-cache requires --license-cache.");
         }
+        if (linkFromCache && licenseCachePath == null) {
+            throw new ParameterException(spec.commandLine(), "--link-from-cache requires --license-cache.");
+        }
+        var metricsSink = new RecordingMetricsSink();
+        var componentLister = new ComponentLister(new AssetLoader(false, metricsSink), new ComponentMetaDataLoader(), new LicenseLoader(),
+                new LicenseMappingLoader(), configurationOptions, metricsSink);
+        var userLogger = new ConsoleUserLogger();
+        try (var fileDownloader = new LicenseFileDownloader(revalidateCache);
+                var bomInputStream = new FileInputStream(inputFile)) {
+            LicensesDownloader licensesDownloader = new LicensesDownloader(componentLister, fileDownloader, maxDownloadsPerHost, metricsSink);
+            licensesDownloader.download(userLogger, bomInputStream, createLicenseFileHandler(), failOnDynamicLicense, parallelDownloads);
+        }
+        metricsSink.printSummary(userLogger);
         return null;
     }
+
+    private FilesystemLicenseFileHandler createLicenseFileHandler() {
+        return new FilesystemLicenseFileHandler(outputPath, licenseCachePath != null ? new SharedLicenseCache(licenseCachePath, linkFromCache) : null);
+    }
 }
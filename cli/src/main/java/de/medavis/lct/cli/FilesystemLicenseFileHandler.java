@@ -21,19 +21,40 @@ package de.medavis.lct.cli;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Optional;
 import java.util.stream.Stream;
 
+import de.medavis.lct.core.downloader.CacheValidators;
 import de.medavis.lct.core.downloader.LicenseFileHandler;
+import de.medavis.lct.core.downloader.LicenseFileIndex;
+import de.medavis.lct.core.downloader.SharedLicenseCache;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
 
 class FilesystemLicenseFileHandler implements LicenseFileHandler {
 
     private final Path target;
+    private final SharedLicenseCache sharedCache;
+    private LicenseFileIndex<Path> cacheIndex;
 
     public FilesystemLicenseFileHandler(Path target) {
+        this(target, null);
+    }
+
+    /**
+     * @param sharedCache Cache which is used in addition to the files already present in the target directory. Can be <code>null</code>.
+     */
+    public FilesystemLicenseFileHandler(Path target, SharedLicenseCache sharedCache) {
         this.target = target;
+        this.sharedCache = sharedCache;
         final File targetFile = target.toFile();
         if (!targetFile.exists()) {
             if (!targetFile.mkdirs()) {
@@ -48,12 +69,42 @@ class FilesystemLicenseFileHandler implements LicenseFileHandler {
 
     @Override
     public boolean isCached(String license) throws IOException {
-        return getCachedFile(license).isPresent();
+        return getCacheIndex().get(license).isPresent();
     }
 
     @Override
     public void save(String license, String extension, byte[] content) throws IOException {
-        Files.write(target.resolve(license + extension), content);
+        Path targetFile = Files.write(target.resolve(license + extension), content);
+        getCacheIndex().put(license, targetFile);
+    }
+
+    @Override
+    public boolean isCached(String license, String url) throws IOException {
+        return isCached(license) || (sharedCache != null && sharedCache.contains(license, url));
+    }
+
+    @Override
+    public void save(String license, String extension, InputStream content) throws IOException {
+        ReadableByteChannel source = Channels.newChannel(content);
+        Path targetFile = target.resolve(license + extension);
+        // The existing file might be a hard link into the shared cache, which must not be overwritten
+        Files.deleteIfExists(targetFile);
+        try (FileChannel file = FileChannel.open(targetFile, CREATE, TRUNCATE_EXISTING, WRITE)) {
+            long position = 0;
+            long transferred;
+            while ((transferred = file.transferFrom(source, position, Long.MAX_VALUE)) > 0) {
+                position += transferred;
+            }
+        }
+        getCacheIndex().put(license, targetFile);
+    }
+
+    @Override
+    public void save(String license, String url, String extension, InputStream content) throws IOException {
+        save(license, extension, content);
+        if (sharedCache != null) {
+            sharedCache.store(license, url, extension, target.resolve(license + extension));
+        }
     }
 
     @Override
@@ -61,9 +112,36 @@ class FilesystemLicenseFileHandler implements LicenseFileHandler {
         // Nothing to do - the cache is identical to the output file
     }
 
-    private Optional<Path> getCachedFile(String license) throws IOException {
-        try (Stream<Path> cached = Files.find(target, 1, (name, attributes) -> name.startsWith(license) && attributes.isRegularFile())) {
-            return cached.findFirst();
+    @Override
+    public void copyFromCache(String license, String url) throws IOException {
+        if (!isCached(license) && sharedCache != null) {
+            Optional<Path> materialized = sharedCache.materialize(license, url, target);
+            if (materialized.isPresent()) {
+                getCacheIndex().put(license, materialized.get());
+            }
+        }
+    }
+
+    @Override
+    public Optional<CacheValidators> getCacheValidators(String license, String url) throws IOException {
+        return sharedCache != null ? sharedCache.getValidators(license, url) : Optional.empty();
+    }
+
+    @Override
+    public void saveCacheValidators(String license, String url, CacheValidators validators) throws IOException {
+        if (sharedCache != null) {
+            sharedCache.storeValidators(license, url, validators);
+        }
+    }
+
+    private synchronized LicenseFileIndex<Path> getCacheIndex() throws IOException {
+        if (cacheIndex == null) {
+            LicenseFileIndex<Path> index = new LicenseFileIndex<>();
+            try (Stream<Path> files = Files.list(target)) {
+                files.filter(Files::isRegularFile).forEach(file -> index.addExisting(file.getFileName().toString(), file));
+            }
+            cacheIndex = index;
         }
+        return cacheIndex;
     }
 }
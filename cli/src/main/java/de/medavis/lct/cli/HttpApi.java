@@ -0,0 +1,322 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.cli;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.medavis.lct.core.Configuration;
+import de.medavis.lct.core.UserLogger;
+import de.medavis.lct.core.asset.AssetLoader;
+import de.medavis.lct.core.downloader.LicenseFileDownloader;
+import de.medavis.lct.core.downloader.LicensesDownloader;
+import de.medavis.lct.core.downloader.SharedLicenseCache;
+import de.medavis.lct.core.license.LicenseLoader;
+import de.medavis.lct.core.license.LicenseMappingLoader;
+import de.medavis.lct.core.list.ComponentData;
+import de.medavis.lct.core.list.ComponentLister;
+import de.medavis.lct.core.metadata.ComponentMetaDataLoader;
+import de.medavis.lct.core.outputter.FreemarkerOutputter;
+import de.medavis.lct.core.outputter.OutputFormat;
+import de.medavis.lct.core.urlchecker.CachingHttpUrlChecker;
+import de.medavis.lct.core.urlchecker.HttpUrlChecker;
+
+/**
+ * Endpoints of the {@link Serve} command. Each endpoint expects a BOM as body of a POST request and streams back the result. Options are passed as query
+ * parameters.
+ * <p>
+ * The configuration is loaded once when the server starts, so all requests share it together with the enrichment results of the component listers. URL
+ * check results, license cache and templates are kept by the URL checker and outputter. Completed URL checks are not kept in memory, so that they expire
+ * according to the URL cache settings.
+ * <p>
+ * Requests from browsers are rejected: A <code>Host</code> other than the loopback address with the port of the server hints at DNS rebinding, an
+ * <code>Origin</code> header at a cross-origin request of a web page. Custom templates must be given as http(s) URL, so requests cannot read local files.
+ */
+class HttpApi {
+
+    private static final Logger log = LoggerFactory.getLogger(HttpApi.class);
+
+    private static final String DOWNLOAD_LOG_ENTRY = "download-licenses.log";
+    private static final Set<String> LOOPBACK_HOSTS = Set.of("localhost", "127.0.0.1", "[::1]");
+    private static final Set<String> TEMPLATE_SCHEMES = Set.of("http", "https");
+
+    private final SharedLicenseCache licenseCache;
+    private final LicenseFileDownloader licenseFileDownloader = new LicenseFileDownloader();
+    private final LicensesDownloader licensesDownloader;
+    private final ComponentLister componentLister;
+    private final ComponentLister urlCheckingComponentLister;
+    private int port;
+
+    /**
+     * @param licenseCache Cache for downloaded licenses. Can be <code>null</code>.
+     */
+    HttpApi(Configuration configuration, HttpUrlChecker urlChecker, SharedLicenseCache licenseCache) {
+        this.licenseCache = licenseCache;
+        this.componentLister = createComponentLister(new AssetLoader(false), configuration);
+        this.urlCheckingComponentLister = createComponentLister(new AssetLoader(CachingHttpUrlChecker.pendingOnly(urlChecker)), configuration);
+        this.licensesDownloader = new LicensesDownloader(componentLister, licenseFileDownloader);
+    }
+
+    void register(HttpServer server) {
+        port = server.getAddress().getPort();
+        server.createContext("/create-manifest", exchange -> handle(exchange, this::createManifest));
+        server.createContext("/download-licenses", exchange -> handle(exchange, this::downloadLicenses));
+        server.createContext("/analyze-components", exchange -> handle(exchange, this::analyzeComponents));
+    }
+
+    /**
+     * Parameters: <code>format</code> (see {@link OutputFormat}), <code>template</code> and <code>ignoreUnavailableUrl</code>
+     */
+    private void createManifest(HttpExchange exchange, Map<String, String> parameters) throws IOException {
+        OutputFormat format = parameters.containsKey("format") ? OutputFormat.valueOf(parameters.get("format").toUpperCase(Locale.ROOT)) : OutputFormat.TEMPLATE;
+        String templateUrl = parameters.get("template");
+        if (templateUrl != null) {
+            checkTemplateUrl(templateUrl);
+        }
+        Stream<ComponentData> components = getComponentLister(Boolean.parseBoolean(parameters.get("ignoreUnavailableUrl")))
+                .streamComponents(exchange.getRequestBody());
+
+        exchange.getResponseHeaders().set("Content-Type", getContentType(format, templateUrl));
+        exchange.sendResponseHeaders(200, 0);
+        try (Writer writer = new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8)) {
+            format.write(components, writer, FreemarkerOutputter.shared(), templateUrl);
+        }
+    }
+
+    private static void checkTemplateUrl(String templateUrl) {
+        String scheme;
+        try {
+            scheme = URI.create(templateUrl).getScheme();
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid template URL " + templateUrl, e);
+        }
+        if (scheme == null || !TEMPLATE_SCHEMES.contains(scheme.toLowerCase(Locale.ROOT))) {
+            throw new IllegalArgumentException("Parameter template must be an http or https URL.");
+        }
+    }
+
+    private static String getContentType(OutputFormat format, String templateUrl) {
+        switch (format) {
+            case JSON:
+                return "application/json; charset=utf-8";
+            case CSV:
+                return "text/csv; charset=utf-8";
+            default:
+                // Custom templates can create any kind of document
+                return templateUrl == null ? "text/html; charset=utf-8" : "application/octet-stream";
+        }
+    }
+
+    /**
+     * Parameters: <code>failOnDynamicLicense</code> and <code>parallelDownloads</code>. Responds with a ZIP file containing the license files and the log
+     * of the download.
+     */
+    private void downloadLicenses(HttpExchange exchange, Map<String, String> parameters) throws IOException {
+        boolean failOnDynamicLicense = Boolean.parseBoolean(parameters.get("failOnDynamicLicense"));
+        int parallelDownloads = parameters.containsKey("parallelDownloads")
+                ? Integer.parseInt(parameters.get("parallelDownloads"))
+                : LicensesDownloader.DEFAULT_PARALLEL_DOWNLOADS;
+        Path licenseDirectory = Files.createTempDirectory("lct-licenses");
+        try {
+            CollectingUserLogger userLogger = new CollectingUserLogger();
+            licensesDownloader.download(userLogger, exchange.getRequestBody(), new FilesystemLicenseFileHandler(licenseDirectory, licenseCache),
+                    failOnDynamicLicense, parallelDownloads);
+
+            exchange.getResponseHeaders().set("Content-Type", "application/zip");
+            exchange.getResponseHeaders().set("Content-Disposition", "attachment; filename=\"licenses.zip\"");
+            exchange.sendResponseHeaders(200, 0);
+            try (ZipOutputStream zip = new ZipOutputStream(exchange.getResponseBody())) {
+                for (Path licenseFile : listFiles(licenseDirectory)) {
+                    zip.putNextEntry(new ZipEntry(licenseFile.getFileName().toString()));
+                    Files.copy(licenseFile, zip);
+                    zip.closeEntry();
+                }
+                zip.putNextEntry(new ZipEntry(DOWNLOAD_LOG_ENTRY));
+                zip.write(userLogger.getOutput().getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        } finally {
+            for (Path file : listFiles(licenseDirectory)) {
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(licenseDirectory);
+        }
+    }
+
+    private static List<Path> listFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted(Comparator.comparing(Path::getFileName)).collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Parameters: <code>mode</code> (see {@link AnalyzeComponents.AnalyzeMode})
+     */
+    private void analyzeComponents(HttpExchange exchange, Map<String, String> parameters) throws IOException {
+        if (!parameters.containsKey("mode")) {
+            throw new IllegalArgumentException("Parameter mode is required.");
+        }
+        AnalyzeComponents.AnalyzeMode mode = AnalyzeComponents.AnalyzeMode.valueOf(parameters.get("mode").toUpperCase(Locale.ROOT));
+        // The result is small, but errors should still lead to an error status, so the response is only sent once it is complete
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        if (mode == AnalyzeComponents.AnalyzeMode.MISSING_URL) {
+            try (PrintStream out = new PrintStream(result, true, StandardCharsets.UTF_8)) {
+                AnalyzeComponents.analyzeMissingUrl(urlCheckingComponentLister, exchange.getRequestBody(), out);
+            }
+        }
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(200, result.size());
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            result.writeTo(responseBody);
+        }
+    }
+
+    private static ComponentLister createComponentLister(AssetLoader assetLoader, Configuration configuration) {
+        return new ComponentLister(assetLoader, new ComponentMetaDataLoader(), new LicenseLoader(), new LicenseMappingLoader(), configuration)
+                .withLoadedConfiguration();
+    }
+
+    private ComponentLister getComponentLister(boolean checkUrlAvailability) {
+        return checkUrlAvailability ? urlCheckingComponentLister : componentLister;
+    }
+
+    /**
+     * Release the connections of the license downloads.
+     */
+    void close() throws IOException {
+        licenseFileDownloader.close();
+    }
+
+    private void handle(HttpExchange exchange, Endpoint endpoint) {
+        try {
+            if (!isLoopbackHost(exchange.getRequestHeaders().getFirst("Host"))) {
+                sendError(exchange, 403, "Only requests to the loopback address are accepted.");
+            } else if (exchange.getRequestHeaders().containsKey("Origin")) {
+                sendError(exchange, 403, "Requests from web pages are not accepted.");
+            } else if (!exchange.getHttpContext().getPath().equals(exchange.getRequestURI().getPath())) {
+                sendError(exchange, 404, "Unknown endpoint " + exchange.getRequestURI().getPath());
+            } else if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                sendError(exchange, 405, "Send the BOM with a POST request.");
+            } else {
+                endpoint.handle(exchange, parseQuery(exchange.getRequestURI().getRawQuery()));
+            }
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+        } catch (Exception e) {
+            log.error("Request to {} failed.", exchange.getRequestURI(), e);
+            sendError(exchange, 500, e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private boolean isLoopbackHost(String host) {
+        if (host == null) {
+            return false;
+        }
+        int separator = host.lastIndexOf(':');
+        if (separator < 0 || host.endsWith("]")) {
+            // Clients omit the port only for the default port
+            return port == 80 && LOOPBACK_HOSTS.contains(host.toLowerCase(Locale.ROOT));
+        }
+        return LOOPBACK_HOSTS.contains(host.substring(0, separator).toLowerCase(Locale.ROOT))
+               && host.substring(separator + 1).equals(String.valueOf(port));
+    }
+
+    private static void sendError(HttpExchange exchange, int statusCode, String message) {
+        if (exchange.getResponseCode() != -1) {
+            // The response has already been started, so the client will only notice the incomplete response
+            return;
+        }
+        byte[] body = (message != null ? message : "").getBytes(StandardCharsets.UTF_8);
+        try {
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+            exchange.sendResponseHeaders(statusCode, body.length > 0 ? body.length : -1);
+            if (body.length > 0) {
+                exchange.getResponseBody().write(body);
+            }
+        } catch (IOException e) {
+            log.debug("Could not send error response.", e);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> parameters = new HashMap<>();
+        if (rawQuery != null) {
+            for (String parameter : rawQuery.split("&")) {
+                int separator = parameter.indexOf('=');
+                String name = separator >= 0 ? parameter.substring(0, separator) : parameter;
+                String value = separator >= 0 ? parameter.substring(separator + 1) : "true";
+                parameters.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+            }
+        }
+        return parameters;
+    }
+
+    @FunctionalInterface
+    private interface Endpoint {
+
+        void handle(HttpExchange exchange, Map<String, String> parameters) throws IOException;
+    }
+
+    private static class CollectingUserLogger implements UserLogger {
+
+        private final StringBuilder output = new StringBuilder();
+
+        @Override
+        public synchronized void info(String format, Object... args) {
+            output.append(String.format(format, args));
+        }
+
+        @Override
+        public synchronized void error(String format, Object... args) {
+            output.append(String.format(format, args));
+        }
+
+        synchronized String getOutput() {
+            return output.toString();
+        }
+    }
+
+}
@@ -32,8 +32,10 @@ class Main {
         final CommandLine commandLine = new CommandLine(this);
         commandLine.addSubcommand(new HelpCommand());
         commandLine.addSubcommand(new CreateManifest());
+        commandLine.addSubcommand(new CreateManifests());
         commandLine.addSubcommand(new DownloadLicenses());
         commandLine.addSubcommand(new AnalyzeComponents());
+        commandLine.addSubcommand(new Serve());
         System.exit(commandLine.execute(args));
     }
 
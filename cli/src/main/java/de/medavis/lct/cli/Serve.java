@@ -0,0 +1,88 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.cli;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Mixin;
+import picocli.CommandLine.Option;
+
+import de.medavis.lct.core.downloader.SharedLicenseCache;
+import de.medavis.lct.core.urlchecker.OnlineHttpUrlChecker;
+
+@Command(name = "serve", description = "Run a local HTTP server which keeps configuration, caches and templates loaded between requests")
+class Serve implements Callable<Void> {
+
+    private static final Logger log = LoggerFactory.getLogger(Serve.class);
+
+    @Option(names = {"--port", "-p"}, defaultValue = "8765",
+            description = "Port on the loopback interface. Default: ${DEFAULT-VALUE}")
+    private int port;
+    @Option(names = {"--threads"},
+            description = "Number of requests which are processed concurrently. Default: number of processors")
+    private int threads = Runtime.getRuntime().availableProcessors();
+    @Option(names = {"--license-cache", "-lc"},
+            description = "Directory of a license cache for download-licenses. Licenses found there are not downloaded again.")
+    private Path licenseCachePath;
+    @Mixin
+    private ConfigurationOptions configurationOptions;
+    @Mixin
+    private UrlCacheOptions urlCacheOptions;
+
+    @Override
+    public Void call() throws Exception {
+        UrlCacheOptions.UrlChecker urlChecker = urlCacheOptions.open(new OnlineHttpUrlChecker());
+        HttpApi api = new HttpApi(configurationOptions, urlChecker, licenseCachePath != null ? new SharedLicenseCache(licenseCachePath) : null);
+        // Only local clients like hooks and IDEs are supposed to use the server
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder().setNameFormat("lct-http-%d").build());
+        server.setExecutor(executor);
+        api.register(server);
+
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop(0);
+            executor.shutdownNow();
+            urlChecker.close();
+            try {
+                api.close();
+            } catch (IOException e) {
+                log.warn("Could not close license downloader.", e);
+            }
+            stopped.countDown();
+        }, "lct-http-shutdown"));
+        server.start();
+        new ConsoleUserLogger().info("Listening on http://%s:%d/%n", server.getAddress().getHostString(), server.getAddress().getPort());
+        stopped.await();
+        return null;
+    }
+
+}
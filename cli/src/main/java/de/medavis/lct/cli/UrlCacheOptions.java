@@ -0,0 +1,85 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.cli;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+import de.medavis.lct.core.urlchecker.HttpUrlChecker;
+import de.medavis.lct.core.urlchecker.PersistentHttpUrlChecker;
+
+@Command
+class UrlCacheOptions {
+
+    @Option(names = {"--urlCache", "-uc"},
+            description = "File in which the results of URL checks are kept between runs, e.g. ~/.lct/url-cache.json. If not given, all URLs are checked in "
+                          + "every run.")
+    private Path cacheFile;
+    @Option(names = {"--urlCacheAvailableTtl"}, defaultValue = "P7D",
+            description = "How long available URLs are not checked again, as ISO-8601 duration. Default: ${DEFAULT-VALUE}")
+    private Duration availableTtl;
+    @Option(names = {"--urlCacheUnavailableTtl"}, defaultValue = "P1D",
+            description = "How long unavailable URLs are not checked again, as ISO-8601 duration. Default: ${DEFAULT-VALUE}")
+    private Duration unavailableTtl;
+
+    /**
+     * @return Checker which keeps the results of <code>delegate</code> in the cache file if one is given. Closing it saves the results.
+     */
+    UrlChecker open(HttpUrlChecker delegate) {
+        return new UrlChecker(delegate, cacheFile != null ? new PersistentHttpUrlChecker(delegate, cacheFile, availableTtl, unavailableTtl) : null);
+    }
+
+    static final class UrlChecker implements HttpUrlChecker, AutoCloseable {
+
+        private final HttpUrlChecker checker;
+        private final PersistentHttpUrlChecker persistentChecker;
+
+        private UrlChecker(HttpUrlChecker delegate, PersistentHttpUrlChecker persistentChecker) {
+            this.checker = persistentChecker != null ? persistentChecker : delegate;
+            this.persistentChecker = persistentChecker;
+        }
+
+        @Override
+        public boolean isUrlAvailable(String urlString) {
+            return checker.isUrlAvailable(urlString);
+        }
+
+        @Override
+        public CompletableFuture<Boolean> isUrlAvailableAsync(String urlString) {
+            return checker.isUrlAvailableAsync(urlString);
+        }
+
+        @Override
+        public CompletableFuture<Integer> getStatusCodeAsync(String urlString) {
+            return checker.getStatusCodeAsync(urlString);
+        }
+
+        @Override
+        public void close() {
+            if (persistentChecker != null) {
+                persistentChecker.close();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,98 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core;
+
+import com.google.common.hash.Hashing;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps parsed configuration sources in memory, so that subsequent runs in the same process, e.g. concurrent Jenkins builds using the same configuration
+ * profile, do not have to parse and index them again. The source is still read on every access: It is parsed again only if its SHA-256 digest has
+ * changed. HTTP sources that returned an <code>ETag</code> are requested with <code>If-None-Match</code>, so an unchanged source is not even transferred.
+ *
+ * @param <T> Type of the parsed configuration
+ */
+public final class ConfigurationSnapshotCache<T> {
+
+    @FunctionalInterface
+    public interface Parser<T> {
+
+        T parse(URL source, byte[] content) throws IOException;
+    }
+
+    private final Map<String, Snapshot<T>> snapshots = new ConcurrentHashMap<>();
+    private final Parser<T> parser;
+
+    public ConfigurationSnapshotCache(Parser<T> parser) {
+        this.parser = parser;
+    }
+
+    public T get(URL source) throws IOException {
+        final String key = source.toExternalForm();
+        final Snapshot<T> current = snapshots.get(key);
+
+        URLConnection connection = source.openConnection();
+        if (current != null && current.entityTag != null && connection instanceof HttpURLConnection) {
+            connection.setRequestProperty("If-None-Match", current.entityTag);
+        }
+        if (current != null && connection instanceof HttpURLConnection
+                && ((HttpURLConnection) connection).getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+            // Closing the empty body returns the connection to the keep-alive pool
+            try (InputStream ignored = connection.getInputStream()) {
+                return current.value;
+            }
+        }
+
+        final byte[] content;
+        try (InputStream input = connection.getInputStream()) {
+            content = input.readAllBytes();
+        }
+        final String contentHash = Hashing.sha256().hashBytes(content).toString();
+        final String entityTag = connection.getHeaderField("ETag");
+        if (current != null && current.contentHash.equals(contentHash)) {
+            snapshots.put(key, new Snapshot<>(contentHash, entityTag, current.value));
+            return current.value;
+        }
+
+        T value = parser.parse(source, content);
+        snapshots.put(key, new Snapshot<>(contentHash, entityTag, value));
+        return value;
+    }
+
+    private static final class Snapshot<T> {
+
+        private final String contentHash;
+        private final String entityTag;
+        private final T value;
+
+        private Snapshot(String contentHash, String entityTag, T value) {
+            this.contentHash = contentHash;
+            this.entityTag = entityTag;
+            this.value = value;
+        }
+    }
+
+}
@@ -21,73 +21,167 @@ package de.medavis.lct.core.asset;
 
 import com.google.common.base.Joiner;
 import com.google.common.base.Strings;
-import com.google.common.io.ByteStreams;
+import com.google.common.base.Throwables;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Collections;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
-import org.cyclonedx.exception.ParseException;
-import org.cyclonedx.model.Bom;
 import org.cyclonedx.model.ExternalReference;
 import org.cyclonedx.model.ExternalReference.Type;
-import org.cyclonedx.parsers.BomParserFactory;
 
 import de.medavis.lct.core.license.License;
-import de.medavis.lct.core.urlchecker.OnlineHttpUrlChecker;
+import de.medavis.lct.core.metrics.MetricsSink;
+import de.medavis.lct.core.metrics.StageTimer;
+import de.medavis.lct.core.urlchecker.CachingHttpUrlChecker;
 import de.medavis.lct.core.urlchecker.HttpUrlChecker;
+import de.medavis.lct.core.urlchecker.OnlineHttpUrlChecker;
 
 public class AssetLoader {
 
+    private static final String READ_STAGE = "asset.read";
+    private static final String URL_CHECK_STAGE = "asset.awaitUrlChecks";
+    private static final String COMPONENTS_COUNTER = "asset.components";
+    private static final String URL_CANDIDATES_COUNTER = "asset.urlCandidates";
+    private static final String MERGE_STAGE = "asset.merge";
+    private static final String DUPLICATE_COMPONENTS_COUNTER = "asset.duplicateComponents";
+
     private final HttpUrlChecker urlChecker;
+    private final MetricsSink metricsSink;
 
     public AssetLoader() {
         this(false);
     }
 
     public AssetLoader(final boolean checkUrlAvailability) {
-        this.urlChecker = checkUrlAvailability ? new OnlineHttpUrlChecker() : url -> true;
+        this(checkUrlAvailability, MetricsSink.NO_OP);
+    }
+
+    public AssetLoader(final boolean checkUrlAvailability, final MetricsSink metricsSink) {
+        this(checkUrlAvailability ? new CachingHttpUrlChecker(new OnlineHttpUrlChecker()) : url -> true, metricsSink);
+    }
+
+    public AssetLoader(final HttpUrlChecker urlChecker) {
+        this(urlChecker, MetricsSink.NO_OP);
+    }
+
+    public AssetLoader(final HttpUrlChecker urlChecker, final MetricsSink metricsSink) {
+        this.urlChecker = urlChecker;
+        this.metricsSink = metricsSink;
     }
 
     public Asset loadFromBom(InputStream bomStream) {
-        Bom assetBom = parseBom(bomStream);
-        final String group = assetBom.getMetadata().getComponent().getGroup();
-        final String name = assetBom.getMetadata().getComponent().getName();
-        String assetName = Strings.isNullOrEmpty(group) ? name : Joiner.on(".").join(group, name);
-        String assetVersion = assetBom.getMetadata().getComponent().getVersion();
-        Set<Component> components = assetBom.getComponents() == null
-                ? Collections.emptySet()
-                : assetBom.getComponents().parallelStream()
+        return loadFromBom(bomStream, Interners.newStrongInterner());
+    }
+
+    /**
+     * @param strings Pool for the strings of the components. Large BOMs repeat the same groups, versions and URLs many times, sharing them keeps the asset
+     *                small. The pool only lives as long as the current load.
+     */
+    private Asset loadFromBom(InputStream bomStream, Interner<String> strings) {
+        try (BomComponentReader reader = BomComponentReader.open(bomStream)) {
+            // URL checks are started while reading and only awaited once the whole BOM has been read
+            List<CompletableFuture<Component>> pendingComponents;
+            try (StageTimer ignored = metricsSink.startTimer(READ_STAGE)) {
+                pendingComponents = reader.components()
                         // FIXME Find out what the scope exactly means and why some components are added that are not in the BOM
 //                        .filter(component -> component.getScope() != null)
-                        .map(this::bomComponentToEntity)
+                        .map(component -> bomComponentToEntity(component, strings))
+                        .collect(Collectors.toList());
+            }
+            Set<Component> components;
+            try (StageTimer ignored = metricsSink.startTimer(URL_CHECK_STAGE)) {
+                components = pendingComponents.stream()
+                        .map(CompletableFuture::join)
                         .collect(Collectors.toSet());
-        return new Asset(assetName, assetVersion, components);
+            }
+            metricsSink.incrementCounter(COMPONENTS_COUNTER, components.size());
+            return toAsset(reader.metadataComponent(), components);
+        } catch (IOException | UncheckedIOException e) {
+            throw new IllegalStateException("Cannot parse BOM file " + bomStream, e);
+        }
     }
 
-    private Bom parseBom(InputStream bomStream) {
+    /**
+     * Load several BOMs in parallel and merge them into one asset, see {@link AssetMerger#merge(java.util.Collection)}. A single BOM is loaded like with
+     * {@link #loadFromBom(InputStream)}. The streams are not closed.
+     */
+    public Asset loadFromBoms(List<InputStream> bomStreams) {
+        if (bomStreams.size() == 1) {
+            return loadFromBom(bomStreams.get(0));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(bomStreams.size(), Runtime.getRuntime().availableProcessors())),
+                new ThreadFactoryBuilder().setNameFormat("lct-bom-loader-%d").setDaemon(true).build());
         try {
-            final byte[] bom = ByteStreams.toByteArray(bomStream);
-            return BomParserFactory.createParser(bom).parse(bom);
-        } catch (ParseException | IOException e) {
-            throw new IllegalStateException("Cannot parse BOM file " + bomStream, e);
+            Interner<String> strings = Interners.newStrongInterner();
+            List<Future<Asset>> pendingAssets = new ArrayList<>(bomStreams.size());
+            for (InputStream bomStream : bomStreams) {
+                pendingAssets.add(executor.submit(() -> loadFromBom(bomStream, strings)));
+            }
+            List<Asset> assets = new ArrayList<>(pendingAssets.size());
+            for (Future<Asset> pendingAsset : pendingAssets) {
+                assets.add(await(pendingAsset));
+            }
+            try (StageTimer ignored = metricsSink.startTimer(MERGE_STAGE)) {
+                Asset merged = AssetMerger.merge(assets);
+                metricsSink.incrementCounter(DUPLICATE_COMPONENTS_COUNTER,
+                        assets.stream().mapToLong(asset -> asset.components().size()).sum() - merged.components().size());
+                return merged;
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Asset await(Future<Asset> pendingAsset) {
+        try {
+            return pendingAsset.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading BOMs.", e);
+        } catch (ExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private Asset toAsset(org.cyclonedx.model.Component metadataComponent, Set<Component> components) {
+        if (metadataComponent == null) {
+            return new Asset(null, null, components);
         }
+        final String group = metadataComponent.getGroup();
+        final String name = metadataComponent.getName();
+        String assetName = Strings.isNullOrEmpty(group) ? name : Joiner.on(".").join(group, name);
+        return new Asset(assetName, metadataComponent.getVersion(), components);
     }
 
-    private Component bomComponentToEntity(org.cyclonedx.model.Component component) {
-        String group = component.getGroup();
-        String name = component.getName();
-        String version = component.getVersion();
-        String url = getWebsite(component.getExternalReferences());
+    private CompletableFuture<Component> bomComponentToEntity(org.cyclonedx.model.Component component, Interner<String> strings) {
+        String group = intern(strings, component.getGroup());
+        String name = intern(strings, component.getName());
+        String version = intern(strings, component.getVersion());
         Set<License> licenses = getLicenseStream(component)
                 .map(this::extractLicense)
                 .filter(Objects::nonNull)
                 .collect(Collectors.toSet());
-        return new Component(group, name, version, url, licenses);
+        return getWebsite(component.getExternalReferences())
+                .thenApply(url -> new Component(group, name, version, intern(strings, url), licenses));
+    }
+
+    private static String intern(Interner<String> strings, String value) {
+        return value != null ? strings.intern(value) : null;
     }
 
     private License extractLicense(org.cyclonedx.model.License license) {
@@ -103,20 +197,29 @@ public class AssetLoader {
         return License.dynamic(name, license.getUrl(), null);
     }
 
-    private String getWebsite(List<ExternalReference> externalReferences) {
-        return getUrl(externalReferences, Type.VCS)
-                .orElseGet(() -> getUrl(externalReferences, Type.WEBSITE)
+    private CompletableFuture<String> getWebsite(List<ExternalReference> externalReferences) {
+        List<String> candidates = Stream.concat(getUrls(externalReferences, Type.VCS), getUrls(externalReferences, Type.WEBSITE))
+                .collect(Collectors.toList());
+        metricsSink.incrementCounter(URL_CANDIDATES_COUNTER, candidates.size());
+        // Check all candidates at once, the first available one in order of preference wins
+        List<CompletableFuture<Boolean>> checks = candidates.stream()
+                .map(urlChecker::isUrlAvailableAsync)
+                .collect(Collectors.toList());
+        return CompletableFuture.allOf(checks.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> IntStream.range(0, candidates.size())
+                        .filter(index -> checks.get(index).join())
+                        .mapToObj(candidates::get)
+                        .findFirst()
                         .orElse(null));
     }
 
-    private Optional<String> getUrl(List<ExternalReference> externalReferences, Type type) {
+    private Stream<String> getUrls(List<ExternalReference> externalReferences, Type type) {
         return externalReferences != null ?
                 externalReferences.stream()
                         .filter(ref -> ref.getType() == type)
                         .map(ExternalReference::getUrl)
-                        .filter(urlChecker::isUrlAvailable)
-                        .findFirst()
-                : Optional.empty();
+                        .filter(Objects::nonNull)
+                : Stream.empty();
     }
 
     private Stream<org.cyclonedx.model.License> getLicenseStream(org.cyclonedx.model.Component component) {
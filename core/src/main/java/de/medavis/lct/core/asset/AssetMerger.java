@@ -0,0 +1,118 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.asset;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import de.medavis.lct.core.license.License;
+
+/**
+ * Combines the assets of several BOMs into one, e.g. to create a single manifest for a suite of applications.
+ */
+public final class AssetMerger {
+
+    private AssetMerger() {
+    }
+
+    /**
+     * Components with the same group, name and version are only contained once in the merged asset. Their licenses are combined, the URL of the first
+     * component which has one is used.
+     *
+     * @return Asset without name and version containing the components of all <code>assets</code>
+     */
+    public static Asset merge(Collection<Asset> assets) {
+        Map<ComponentKey, MergedComponent> componentsByKey = new HashMap<>();
+        for (Asset asset : assets) {
+            for (Component component : asset.components()) {
+                componentsByKey.computeIfAbsent(new ComponentKey(component), key -> new MergedComponent()).add(component);
+            }
+        }
+        Set<Component> components = componentsByKey.entrySet().stream()
+                .map(entry -> entry.getValue().toComponent(entry.getKey()))
+                .collect(Collectors.toSet());
+        return new Asset(null, null, components);
+    }
+
+    private static final class ComponentKey {
+
+        private final String group;
+        private final String name;
+        private final String version;
+        private final int hashCode;
+
+        private ComponentKey(Component component) {
+            this.group = component.group();
+            this.name = component.name();
+            this.version = component.version();
+            this.hashCode = Objects.hash(group, name, version);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this)
+                return true;
+            if (obj == null || obj.getClass() != this.getClass())
+                return false;
+            ComponentKey that = (ComponentKey) obj;
+            return Objects.equals(this.group, that.group) &&
+                   Objects.equals(this.name, that.name) &&
+                   Objects.equals(this.version, that.version);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private static final class MergedComponent {
+
+        private String url;
+        private Set<License> licenses;
+        private boolean licensesShared;
+
+        private void add(Component component) {
+            if (url == null) {
+                url = component.url();
+            }
+            if (licenses == null) {
+                // Most components are not duplicated, so their licenses are only copied when they have to be merged
+                licenses = component.licenses();
+                licensesShared = true;
+            } else if (!licenses.containsAll(component.licenses())) {
+                if (licensesShared) {
+                    licenses = new LinkedHashSet<>(licenses);
+                    licensesShared = false;
+                }
+                licenses.addAll(component.licenses());
+            }
+        }
+
+        private Component toComponent(ComponentKey key) {
+            return new Component(key.group, key.name, key.version, url, licenses);
+        }
+    }
+}
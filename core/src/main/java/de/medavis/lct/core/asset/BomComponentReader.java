@@ -0,0 +1,121 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.asset;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.cyclonedx.model.Component;
+
+/**
+ * Reads the components of a CycloneDX BOM one by one, so that only the component currently being read is held in memory.
+ * The component from the BOM metadata is collected while reading and is available once all components have been read.
+ */
+abstract class BomComponentReader implements Closeable {
+
+    private static final int[] UTF8_BYTE_ORDER_MARK = {0xEF, 0xBB, 0xBF};
+    private static final int PEEK_LIMIT = 1024;
+
+    private Component metadataComponent;
+
+    static BomComponentReader open(InputStream bomStream) throws IOException {
+        BufferedInputStream input = new BufferedInputStream(bomStream);
+        int firstCharacter = peekFirstCharacter(input);
+        if (firstCharacter == '{') {
+            return new JsonBomComponentReader(input);
+        } else if (firstCharacter == '<') {
+            return new XmlBomComponentReader(input);
+        } else {
+            throw new IOException("Unsupported BOM format, expected JSON or XML.");
+        }
+    }
+
+    private static int peekFirstCharacter(BufferedInputStream input) throws IOException {
+        input.mark(PEEK_LIMIT);
+        try {
+            int read = 1;
+            int current = input.read();
+            for (int i = 0; i < UTF8_BYTE_ORDER_MARK.length && current == UTF8_BYTE_ORDER_MARK[i]; i++, read++) {
+                current = input.read();
+            }
+            while (current != -1 && read < PEEK_LIMIT && Character.isWhitespace(current)) {
+                current = input.read();
+                read++;
+            }
+            return current;
+        } finally {
+            input.reset();
+        }
+    }
+
+    /**
+     * @return the next top-level component of the BOM or <code>null</code> if there are no more components
+     */
+    abstract Component nextComponent() throws IOException;
+
+    /**
+     * @return the component from the BOM metadata or <code>null</code> if it has not been encountered (yet)
+     */
+    Component metadataComponent() {
+        return metadataComponent;
+    }
+
+    void setMetadataComponent(Component metadataComponent) {
+        this.metadataComponent = metadataComponent;
+    }
+
+    Stream<Component> components() {
+        Iterator<Component> iterator = new Iterator<>() {
+            private Component next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null) {
+                    try {
+                        next = nextComponent();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                return next != null;
+            }
+
+            @Override
+            public Component next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Component result = next;
+                next = null;
+                return result;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+}
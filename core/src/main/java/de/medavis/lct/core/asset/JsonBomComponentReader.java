@@ -0,0 +1,94 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.asset;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonParser.Feature;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import org.cyclonedx.model.Component;
+
+/**
+ * Reads a JSON BOM token by token and only binds <code>metadata.component</code> and the elements of <code>components</code>.
+ */
+class JsonBomComponentReader extends BomComponentReader {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().configure(Feature.AUTO_CLOSE_SOURCE, false);
+
+    private final JsonParser parser;
+    private boolean insideComponents;
+
+    JsonBomComponentReader(InputStream input) throws IOException {
+        parser = MAPPER.getFactory().createParser(input);
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("BOM must be a JSON object.");
+        }
+    }
+
+    @Override
+    Component nextComponent() throws IOException {
+        while (true) {
+            if (insideComponents) {
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.START_OBJECT) {
+                    return MAPPER.readValue(parser, Component.class);
+                } else if (token == JsonToken.END_ARRAY) {
+                    insideComponents = false;
+                } else if (token == null) {
+                    throw new IOException("Unexpected end of BOM inside components.");
+                }
+            } else {
+                JsonToken token = parser.nextToken();
+                if (token == null || token == JsonToken.END_OBJECT) {
+                    return null;
+                }
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("components".equals(field) && value == JsonToken.START_ARRAY) {
+                    insideComponents = true;
+                } else if ("metadata".equals(field) && value == JsonToken.START_OBJECT) {
+                    readMetadata();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    private void readMetadata() throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("component".equals(field) && value == JsonToken.START_OBJECT) {
+                setMetadataComponent(MAPPER.readValue(parser, Component.class));
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+}
@@ -0,0 +1,111 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.asset;
+
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.cyclonedx.model.Component;
+
+/**
+ * Reads an XML BOM with StAX and only binds <code>metadata/component</code> and the elements of <code>components</code>.
+ */
+class XmlBomComponentReader extends BomComponentReader {
+
+    private static final XmlMapper MAPPER = new XmlMapper();
+
+    private static final int SECTION_DEPTH = 2;
+    private static final int COMPONENT_DEPTH = 3;
+
+    private final XMLStreamReader reader;
+    private int depth;
+    private String section;
+
+    XmlBomComponentReader(InputStream input) throws IOException {
+        try {
+            reader = MAPPER.getFactory().getXMLInputFactory().createXMLStreamReader(input);
+        } catch (XMLStreamException e) {
+            throw new IOException("Cannot read XML BOM.", e);
+        }
+    }
+
+    @Override
+    Component nextComponent() throws IOException {
+        try {
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    depth++;
+                    if (depth == SECTION_DEPTH) {
+                        section = reader.getLocalName();
+                        if (!isRelevantSection()) {
+                            skipElement();
+                        }
+                    } else if (depth == COMPONENT_DEPTH && "component".equals(reader.getLocalName())) {
+                        // The mapper consumes the whole element including its end tag
+                        depth--;
+                        Component component = MAPPER.readValue(reader, Component.class);
+                        if ("components".equals(section)) {
+                            return component;
+                        }
+                        setMetadataComponent(component);
+                    } else if (depth >= COMPONENT_DEPTH) {
+                        skipElement();
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    depth--;
+                }
+            }
+            return null;
+        } catch (XMLStreamException e) {
+            throw new IOException("Cannot read XML BOM.", e);
+        }
+    }
+
+    private boolean isRelevantSection() {
+        return "metadata".equals(section) || "components".equals(section);
+    }
+
+    private void skipElement() throws XMLStreamException {
+        int nested = 1;
+        while (nested > 0 && reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                nested++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                nested--;
+            }
+        }
+        depth--;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            reader.close();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,76 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.downloader;
+
+import java.util.Objects;
+
+/**
+ * Values of the <code>ETag</code> and <code>Last-Modified</code> response headers of a downloaded license file. They are sent with the next download of
+ * the same file, so that the server can answer with <code>304 Not Modified</code> instead of the full content.
+ */
+public final class CacheValidators {
+
+    private final String entityTag;
+    private final String lastModified;
+
+    /**
+     * @param entityTag    Value of the <code>ETag</code> header, can be <code>null</code>.
+     * @param lastModified Value of the <code>Last-Modified</code> header, can be <code>null</code>.
+     */
+    public CacheValidators(String entityTag, String lastModified) {
+        this.entityTag = entityTag;
+        this.lastModified = lastModified;
+    }
+
+    public String getEntityTag() {
+        return entityTag;
+    }
+
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    public boolean isEmpty() {
+        return entityTag == null && lastModified == null;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this)
+            return true;
+        if (obj == null || obj.getClass() != this.getClass())
+            return false;
+        CacheValidators that = (CacheValidators) obj;
+        return Objects.equals(this.entityTag, that.entityTag) &&
+               Objects.equals(this.lastModified, that.lastModified);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(entityTag, lastModified);
+    }
+
+    @Override
+    public String toString() {
+        return "CacheValidators[" +
+               "entityTag=" + entityTag + ", " +
+               "lastModified=" + lastModified + ']';
+    }
+}
@@ -19,44 +19,102 @@
  */
 package de.medavis.lct.core.downloader;
 
-import com.google.common.io.ByteStreams;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.UnsupportedCharsetException;
+import java.util.Optional;
 import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
 import org.apache.http.ParseException;
-import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.entity.ContentType;
+import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClients;
 
 import static org.apache.http.entity.ContentType.TEXT_HTML;
 import static org.apache.http.entity.ContentType.TEXT_PLAIN;
 
-public class LicenseFileDownloader {
+/**
+ * Downloads license files with a pooled HTTP client. Instances can be used for many downloads and should be closed to release the connection pool.
+ */
+public class LicenseFileDownloader implements Closeable {
+
+    // Concurrent downloads are limited by LicensesDownloader, so the connection pool must not be the bottleneck
+    private static final int MAX_CONNECTIONS = 64;
+
+    private final transient CloseableHttpClient httpclient = HttpClients.custom()
+            .setMaxConnTotal(MAX_CONNECTIONS)
+            .setMaxConnPerRoute(MAX_CONNECTIONS)
+            .build();
 
-    private final transient HttpClient httpclient = HttpClients.createDefault();
 
+    private final boolean revalidate;
+
+    public LicenseFileDownloader() {
+        this(false);
+    }
+
+    /**
+     * @param revalidate If enabled, cached licenses are downloaded again unless the server confirms with <code>304 Not Modified</code> that the cached file
+     *                   is still up to date. Licenses without stored <code>ETag</code> or <code>Last-Modified</code> are always downloaded again.
+     */
+    public LicenseFileDownloader(boolean revalidate) {
+        this.revalidate = revalidate;
+    }
 
     Result downloadToFile(String url, String license, LicenseFileHandler licenseFileHandler) throws IOException {
-        if (!licenseFileHandler.isCached(license)) {
-            httpclient.execute(new HttpGet(url), response -> {
-                final int statusCode = response.getStatusLine().getStatusCode();
-                if (statusCode < 200 || statusCode >= 300) {
-                    throw new IOException("Download not successful: Status " + statusCode);
-                }
-
-                String extension = determineExtension(response.getEntity().getContentType());
-                try (final InputStream input = response.getEntity().getContent()) {
-                    licenseFileHandler.save(license, extension, ByteStreams.toByteArray(input));
-                }
-                return null;
-            });
-            return Result.DOWNLOADED;
-        } else {
-            licenseFileHandler.copyFromCache(license);
+        final boolean cached = licenseFileHandler.isCached(license, url);
+        if (cached && !revalidate) {
+            licenseFileHandler.copyFromCache(license, url);
             return Result.FROM_CACHE;
         }
+
+        final HttpGet request = new HttpGet(url);
+        final Optional<CacheValidators> validators = cached ? licenseFileHandler.getCacheValidators(license, url) : Optional.empty();
+        validators.ifPresent(cacheValidators -> addConditionalHeaders(request, cacheValidators));
+        return httpclient.execute(request, response -> {
+            final int statusCode = response.getStatusLine().getStatusCode();
+            if (statusCode == HttpStatus.SC_NOT_MODIFIED && validators.isPresent()) {
+                licenseFileHandler.copyFromCache(license, url);
+                return Result.NOT_MODIFIED;
+            }
+            if (statusCode < 200 || statusCode >= 300) {
+                throw new IOException("Download not successful: Status " + statusCode);
+            }
+
+            String extension = determineExtension(response.getEntity().getContentType());
+            try (final InputStream input = response.getEntity().getContent()) {
+                licenseFileHandler.save(license, url, extension, input);
+            }
+            CacheValidators responseValidators = new CacheValidators(getHeaderValue(response, HttpHeaders.ETAG),
+                    getHeaderValue(response, HttpHeaders.LAST_MODIFIED));
+            if (!responseValidators.isEmpty()) {
+                licenseFileHandler.saveCacheValidators(license, url, responseValidators);
+            }
+            return Result.DOWNLOADED;
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        httpclient.close();
+    }
+
+    private void addConditionalHeaders(HttpGet request, CacheValidators validators) {
+        if (validators.getEntityTag() != null) {
+            request.setHeader(HttpHeaders.IF_NONE_MATCH, validators.getEntityTag());
+        }
+        if (validators.getLastModified() != null) {
+            request.setHeader(HttpHeaders.IF_MODIFIED_SINCE, validators.getLastModified());
+        }
+    }
+
+    private String getHeaderValue(HttpResponse response, String name) {
+        Header header = response.getFirstHeader(name);
+        return header != null ? header.getValue() : null;
     }
 
     private String determineExtension(Header contentTypeHeader) {
@@ -83,7 +141,8 @@ public class LicenseFileDownloader {
 
     enum Result {
         DOWNLOADED,
-        FROM_CACHE
+        FROM_CACHE,
+        NOT_MODIFIED
     }
 
 }
@@ -20,6 +20,8 @@
 package de.medavis.lct.core.downloader;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
 
 public interface LicenseFileHandler {
 
@@ -27,5 +29,51 @@ public interface LicenseFileHandler {
 
     void save(String license, String extension, byte[] content) throws IOException;
 
+    /**
+     * Save the license file by reading <code>content</code> until its end. The stream is not closed. The default implementation reads the whole content
+     * into memory, so implementations should override it to write the content directly to its destination.
+     */
+    default void save(String license, String extension, InputStream content) throws IOException {
+        save(license, extension, content.readAllBytes());
+    }
+
+    /**
+     * Variant of {@link #isCached(String)} for handlers which also cache licenses by the URL they were downloaded from. By default, the URL is ignored.
+     */
+    default boolean isCached(String license, String url) throws IOException {
+        return isCached(license);
+    }
+
+    /**
+     * Variant of {@link #copyFromCache(String)} for handlers which also cache licenses by the URL they were downloaded from. By default, the URL is
+     * ignored.
+     */
+    default void copyFromCache(String license, String url) throws IOException {
+        copyFromCache(license);
+    }
+
+    /**
+     * Variant of {@link #save(String, String, InputStream)} for handlers which also cache licenses by the URL they were downloaded from. By default, the
+     * URL is ignored.
+     */
+    default void save(String license, String url, String extension, InputStream content) throws IOException {
+        save(license, extension, content);
+    }
+
     void copyFromCache(String license) throws IOException;
+
+    /**
+     * Validators stored for the cached license downloaded from <code>url</code>. By default, handlers do not store validators, so cached licenses are
+     * downloaded again completely when revalidation is enabled.
+     */
+    default Optional<CacheValidators> getCacheValidators(String license, String url) throws IOException {
+        return Optional.empty();
+    }
+
+    /**
+     * Store the validators of a license which has just been saved.
+     */
+    default void saveCacheValidators(String license, String url, CacheValidators validators) throws IOException {
+        // Revalidation is not supported by default
+    }
 }
@@ -0,0 +1,62 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.downloader;
+
+import com.google.common.io.Files;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of cached license files by license name, which is the file name without extension, ignoring case. License handlers build it from a single
+ * directory listing instead of searching the directory for every license, and keep it up to date when saving licenses.
+ *
+ * @param <T> Type of the file references, e.g. {@link java.nio.file.Path}.
+ */
+public final class LicenseFileIndex<T> {
+
+    private final Map<String, T> filesByLicense = new ConcurrentHashMap<>();
+
+    /**
+     * Add a file found in the cache directory. If several files exist for one license, the first one is kept.
+     */
+    public void addExisting(String fileName, T file) {
+        filesByLicense.putIfAbsent(toKey(Files.getNameWithoutExtension(fileName)), file);
+        // License names often contain dots, e.g. Apache-2.0, so files saved without extension must be found by their full name as well
+        filesByLicense.putIfAbsent(toKey(fileName), file);
+    }
+
+    /**
+     * Register a file that has just been saved for <code>license</code>.
+     */
+    public void put(String license, T file) {
+        filesByLicense.put(toKey(license), file);
+    }
+
+    public Optional<T> get(String license) {
+        return Optional.ofNullable(filesByLicense.get(toKey(license)));
+    }
+
+    private static String toKey(String license) {
+        return license.toLowerCase(Locale.ROOT);
+    }
+
+}
@@ -19,14 +19,28 @@
  */
 package de.medavis.lct.core.downloader;
 
+import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,21 +52,63 @@ import de.medavis.lct.core.downloader.LicenseFileDownloader.Result;
 import de.medavis.lct.core.license.License;
 import de.medavis.lct.core.list.ComponentData;
 import de.medavis.lct.core.list.ComponentLister;
+import de.medavis.lct.core.metrics.MetricsSink;
+import de.medavis.lct.core.metrics.StageTimer;
 
 public class LicensesDownloader {
 
+    public static final int DEFAULT_PARALLEL_DOWNLOADS = 1;
+    public static final int DEFAULT_MAX_DOWNLOADS_PER_HOST = 4;
+
     private static final Logger log = LoggerFactory.getLogger(LicensesDownloader.class);
 
+    private static final String DOWNLOAD_STAGE = "licenses.download";
+    private static final String DOWNLOAD_FILE_STAGE = "licenses.downloadFile";
+    private static final String DOWNLOADED_COUNTER = "licenses.downloaded";
+    private static final String FROM_CACHE_COUNTER = "licenses.fromCache";
+    private static final String NOT_MODIFIED_COUNTER = "licenses.notModified";
+    private static final String FAILED_COUNTER = "licenses.failed";
+
     private final ComponentLister componentLister;
     private final LicenseFileDownloader fileDownloader;
+    private final int maxDownloadsPerHost;
+    private final MetricsSink metricsSink;
 
     public LicensesDownloader(ComponentLister componentLister, LicenseFileDownloader fileDownloader) {
+        this(componentLister, fileDownloader, DEFAULT_MAX_DOWNLOADS_PER_HOST);
+    }
+
+    public LicensesDownloader(ComponentLister componentLister, LicenseFileDownloader fileDownloader, int maxDownloadsPerHost) {
+        this(componentLister, fileDownloader, maxDownloadsPerHost, MetricsSink.NO_OP);
+    }
+
+    public LicensesDownloader(ComponentLister componentLister, LicenseFileDownloader fileDownloader, int maxDownloadsPerHost, MetricsSink metricsSink) {
+        Preconditions.checkArgument(maxDownloadsPerHost > 0, "maxDownloadsPerHost must be positive");
         this.componentLister = componentLister;
         this.fileDownloader = fileDownloader;
+        this.maxDownloadsPerHost = maxDownloadsPerHost;
+        this.metricsSink = metricsSink;
     }
 
     public void download(UserLogger userLogger, InputStream inputStream, LicenseFileHandler licenseFileHandler, boolean failOnDynamicLicense) {
-        final List<ComponentData> components = componentLister.listComponents(inputStream);
+        download(userLogger, inputStream, licenseFileHandler, failOnDynamicLicense, DEFAULT_PARALLEL_DOWNLOADS);
+    }
+
+    /**
+     * Download the licenses of all components in the BOM.
+     * Up to <code>parallelDownloads</code> licenses are downloaded concurrently, but never more than the configured maximum from the same host.
+     * Progress is reported in the order of the licenses, failed downloads are summarized at the end.
+     */
+    public void download(UserLogger userLogger, InputStream inputStream, LicenseFileHandler licenseFileHandler, boolean failOnDynamicLicense,
+            int parallelDownloads) {
+        Preconditions.checkArgument(parallelDownloads > 0, "parallelDownloads must be positive");
+        try (StageTimer ignored = metricsSink.startTimer(DOWNLOAD_STAGE)) {
+            downloadLicenses(userLogger, componentLister.listComponents(inputStream), licenseFileHandler, failOnDynamicLicense, parallelDownloads);
+        }
+    }
+
+    private void downloadLicenses(UserLogger userLogger, List<ComponentData> components, LicenseFileHandler licenseFileHandler, boolean failOnDynamicLicense,
+            int parallelDownloads) {
         Set<License> licenses = components.stream()
                 .map(ComponentData::getLicenses)
                 .flatMap(Set::stream)
@@ -70,26 +126,176 @@ public class LicensesDownloader {
 
         Map<String, String> downloadUrls = licenses.stream()
                 .filter(license -> !Strings.isNullOrEmpty(license.getDownloadUrl()) || !Strings.isNullOrEmpty(license.getUrl()))
-                .collect(Collectors.toMap(License::getName, license -> firstNonNull(license.getDownloadUrl(), license.getUrl())));
+                .collect(Collectors.toMap(License::getName, license -> firstNonNull(license.getDownloadUrl(), license.getUrl()), (first, second) -> {
+                    throw new IllegalStateException(String.format("Duplicate license with download URLs %s and %s", first, second));
+                }, LinkedHashMap::new));
         userLogger.info("Will download %d licenses.%n", downloadUrls.size());
 
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelDownloads, Math.max(downloadUrls.size(), 1)),
+                new ThreadFactoryBuilder().setNameFormat("lct-license-download-%d").setDaemon(true).build());
+        try {
+            // Downloads are queued per host and only handed to the executor while the host is below its limit, so no worker waits for a host
+            Map<String, HostQueue> hostQueues = new LinkedHashMap<>();
+            List<Future<DownloadResult>> downloads = new ArrayList<>(downloadUrls.size());
+            for (Entry<String, String> entry : downloadUrls.entrySet()) {
+                PendingDownload download = new PendingDownload(entry.getKey(), entry.getValue());
+                hostQueues.computeIfAbsent(getHost(entry.getValue()), host -> new HostQueue()).add(download);
+                downloads.add(download.result);
+            }
+            hostQueues.values().forEach(hostQueue -> startDownloads(hostQueue, executor, licenseFileHandler));
+            reportResults(userLogger, downloads);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void startDownloads(HostQueue hostQueue, ExecutorService executor, LicenseFileHandler licenseFileHandler) {
+        PendingDownload download;
+        while ((download = hostQueue.start()) != null) {
+            PendingDownload started = download;
+            try {
+                executor.execute(() -> {
+                    try {
+                        started.result.complete(downloadLicense(started.licenseName, started.source, licenseFileHandler));
+                    } catch (RuntimeException | Error e) {
+                        started.result.completeExceptionally(e);
+                    } finally {
+                        hostQueue.finished();
+                        startDownloads(hostQueue, executor, licenseFileHandler);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // The download has been aborted
+                hostQueue.finished();
+                started.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    private DownloadResult downloadLicense(String licenseName, String source, LicenseFileHandler licenseFileHandler) {
+        try (StageTimer ignored = metricsSink.startTimer(DOWNLOAD_FILE_STAGE)) {
+            return DownloadResult.success(licenseName, source, fileDownloader.downloadToFile(source, licenseName, licenseFileHandler));
+        } catch (IOException e) {
+            log.error(String.format("Could not download license file %s from %s.", licenseName, source), e);
+            return DownloadResult.failure(licenseName, source, e);
+        }
+    }
+
+    private void reportResults(UserLogger userLogger, List<Future<DownloadResult>> downloads) {
+        List<String> failedLicenses = new ArrayList<>();
         int index = 1;
-        for (Entry<String, String> entry : downloadUrls.entrySet()) {
-            String name = entry.getKey();
-            String url = entry.getValue();
-            downloadLicense(name, url, userLogger, licenseFileHandler, index, downloadUrls.size());
+        for (Future<DownloadResult> download : downloads) {
+            DownloadResult result = await(download);
+            userLogger.info("(%d/%d) Downloading license %s from %s... ", index, downloads.size(), result.licenseName, result.source);
+            if (result.failure == null) {
+                userLogger.info("%s.%n", describe(result.result));
+                metricsSink.incrementCounter(counterFor(result.result), 1);
+            } else {
+                userLogger.error("%s - %s.%n", result.failure.getClass(), result.failure.getMessage());
+                metricsSink.incrementCounter(FAILED_COUNTER, 1);
+                failedLicenses.add(result.licenseName);
+            }
             index++;
         }
+        if (!failedLicenses.isEmpty()) {
+            userLogger.error("Could not download %d of %d licenses: %s%n", failedLicenses.size(), downloads.size(), failedLicenses);
+        }
+    }
+
+    private static String describe(Result result) {
+        if (result == Result.DOWNLOADED) {
+            return "Downloaded";
+        }
+        return result == Result.NOT_MODIFIED ? "Not modified, copied from cache" : "Copied from cache";
     }
 
-    private void downloadLicense(String licenseName, String source, UserLogger userLogger, LicenseFileHandler licenseFileHandler, int index, int size) {
+    private static String counterFor(Result result) {
+        if (result == Result.DOWNLOADED) {
+            return DOWNLOADED_COUNTER;
+        }
+        return result == Result.NOT_MODIFIED ? NOT_MODIFIED_COUNTER : FROM_CACHE_COUNTER;
+    }
+
+    private DownloadResult await(Future<DownloadResult> download) {
         try {
-            userLogger.info("(%d/%d) Downloading license %s from %s... ", index, size, licenseName, source);
-            var result = fileDownloader.downloadToFile(source, licenseName, licenseFileHandler);
-            userLogger.info("%s.%n", result == Result.DOWNLOADED ? "Downloaded" : "Copied from cache");
-        } catch (IOException e) {
-            log.error(String.format("Could not download license file %s from %s.", licenseName, source), e);
-            userLogger.error("%s - %s.%n", e.getClass(), e.getMessage());
+            return download.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while downloading licenses.", e);
+        } catch (ExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static String getHost(String url) {
+        try {
+            return Strings.nullToEmpty(URI.create(url).getHost());
+        } catch (IllegalArgumentException e) {
+            return "";
+        }
+    }
+
+    private static final class PendingDownload {
+
+        private final String licenseName;
+        private final String source;
+        private final CompletableFuture<DownloadResult> result = new CompletableFuture<>();
+
+        private PendingDownload(String licenseName, String source) {
+            this.licenseName = licenseName;
+            this.source = source;
+        }
+    }
+
+    /**
+     * Downloads from one host which have not been started yet, together with the number of running downloads from this host.
+     */
+    private final class HostQueue {
+
+        private final Deque<PendingDownload> waiting = new ArrayDeque<>();
+        private int running;
+
+        synchronized void add(PendingDownload download) {
+            waiting.add(download);
+        }
+
+        /**
+         * @return Next download to start, or <code>null</code> if there is none or the maximum number of downloads from this host is already running
+         */
+        synchronized PendingDownload start() {
+            if (running >= maxDownloadsPerHost || waiting.isEmpty()) {
+                return null;
+            }
+            running++;
+            return waiting.poll();
+        }
+
+        synchronized void finished() {
+            running--;
+        }
+    }
+
+    private static final class DownloadResult {
+
+        private final String licenseName;
+        private final String source;
+        private final Result result;
+        private final IOException failure;
+
+        private DownloadResult(String licenseName, String source, Result result, IOException failure) {
+            this.licenseName = licenseName;
+            this.source = source;
+            this.result = result;
+            this.failure = failure;
+        }
+
+        static DownloadResult success(String licenseName, String source, Result result) {
+            return new DownloadResult(licenseName, source, result, null);
+        }
+
+        static DownloadResult failure(String licenseName, String source, IOException failure) {
+            return new DownloadResult(licenseName, source, null, failure);
         }
     }
 
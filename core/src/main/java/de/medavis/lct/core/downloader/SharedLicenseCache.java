@@ -0,0 +1,215 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.downloader;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingInputStream;
+import com.google.common.io.MoreFiles;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Properties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * License cache which can be shared by several outputs, e.g. all jobs on one machine. License files are stored once per content, named by their SHA-256
+ * digest. A small index maps license name and source URL to the digest of the file downloaded from there and to its {@link CacheValidators}.
+ * <p>
+ * Cached files are copied into the output directory. Optionally, they are materialized as read-only hard links instead if the file system supports it.
+ * As a linked file shares its content with the cached file, the content is checked against its digest before it is materialized, and corrupted files
+ * are removed from the cache. All files are written to a temporary file first and moved into place afterwards, so the cache can be used by several
+ * processes at the same time.
+ */
+public class SharedLicenseCache {
+
+    private static final Logger log = LoggerFactory.getLogger(SharedLicenseCache.class);
+
+    private static final String OBJECTS_DIRECTORY = "objects";
+    private static final String INDEX_DIRECTORY = "index";
+    private static final String DIGEST = "digest";
+    private static final String EXTENSION = "extension";
+    private static final String ENTITY_TAG = "etag";
+    private static final String LAST_MODIFIED = "lastModified";
+
+    private final Path root;
+    private final boolean linkFiles;
+
+    public SharedLicenseCache(Path root) {
+        this(root, false);
+    }
+
+    /**
+     * @param linkFiles If enabled, cached files are materialized as hard links instead of copies. Files in the output directory must not be modified
+     *                  then, as they share their content with the cache.
+     */
+    public SharedLicenseCache(Path root, boolean linkFiles) {
+        this.root = root;
+        this.linkFiles = linkFiles;
+    }
+
+    public boolean contains(String license, String url) throws IOException {
+        return findObject(license, url).isPresent();
+    }
+
+    /**
+     * Create the file for <code>license</code> in <code>targetDirectory</code> from the cached content downloaded from <code>url</code>.
+     *
+     * @return The created file, or empty if there is no cached content for the license and URL or if the cached content is corrupted.
+     */
+    public Optional<Path> materialize(String license, String url, Path targetDirectory) throws IOException {
+        Optional<CachedObject> cachedObject = findObject(license, url);
+        if (cachedObject.isEmpty()) {
+            return Optional.empty();
+        }
+        Path file = cachedObject.get().file;
+        if (!MoreFiles.asByteSource(file).hash(Hashing.sha256()).toString().equals(file.getFileName().toString())) {
+            log.warn("Cached file {} does not match its digest, removing it from the cache.", file);
+            Files.deleteIfExists(file);
+            return Optional.empty();
+        }
+        Files.createDirectories(targetDirectory);
+        Path target = targetDirectory.resolve(license + cachedObject.get().extension);
+        Files.deleteIfExists(target);
+        if (linkFiles) {
+            try {
+                Files.createLink(target, file);
+                // Protects the shared content against accidental modification through any of its links
+                target.toFile().setReadOnly();
+                return Optional.of(target);
+            } catch (UnsupportedOperationException | IOException e) {
+                // Hard links are not possible across file systems, so fall back to a copy
+                log.debug("Could not link {} to {}, copying it instead.", file, target, e);
+            }
+        }
+        Files.copy(file, target);
+        // The cached file is read-only if it has been linked before, but the copy belongs to the output only
+        target.toFile().setWritable(true);
+        return Optional.of(target);
+    }
+
+    /**
+     * Add the content of <code>file</code>, which has been downloaded from <code>url</code>, to the cache.
+     */
+    public void store(String license, String url, String extension, Path file) throws IOException {
+        Path objectsDirectory = Files.createDirectories(root.resolve(OBJECTS_DIRECTORY));
+        Path temporaryObject = Files.createTempFile(objectsDirectory, "object", ".tmp");
+        try {
+            HashCode digest;
+            try (HashingInputStream input = new HashingInputStream(Hashing.sha256(), Files.newInputStream(file))) {
+                Files.copy(input, temporaryObject, REPLACE_EXISTING);
+                digest = input.hash();
+            }
+            Files.move(temporaryObject, objectsDirectory.resolve(digest.toString()), REPLACE_EXISTING, ATOMIC_MOVE);
+            Properties entry = new Properties();
+            entry.setProperty("license", license);
+            entry.setProperty("url", url);
+            entry.setProperty(DIGEST, digest.toString());
+            entry.setProperty(EXTENSION, extension);
+            writeIndexEntry(license, url, entry);
+        } finally {
+            Files.deleteIfExists(temporaryObject);
+        }
+    }
+
+    public Optional<CacheValidators> getValidators(String license, String url) throws IOException {
+        return readIndexEntry(license, url)
+                .map(entry -> new CacheValidators(entry.getProperty(ENTITY_TAG), entry.getProperty(LAST_MODIFIED)))
+                .filter(validators -> !validators.isEmpty());
+    }
+
+    /**
+     * Store the validators of the license content which has been added last for <code>license</code> and <code>url</code>.
+     */
+    public void storeValidators(String license, String url, CacheValidators validators) throws IOException {
+        Optional<Properties> entry = readIndexEntry(license, url);
+        if (entry.isPresent()) {
+            setOrRemove(entry.get(), ENTITY_TAG, validators.getEntityTag());
+            setOrRemove(entry.get(), LAST_MODIFIED, validators.getLastModified());
+            writeIndexEntry(license, url, entry.get());
+        }
+    }
+
+    private static void setOrRemove(Properties properties, String key, String value) {
+        if (value != null) {
+            properties.setProperty(key, value);
+        } else {
+            properties.remove(key);
+        }
+    }
+
+    private void writeIndexEntry(String license, String url, Properties entry) throws IOException {
+        Path indexDirectory = Files.createDirectories(root.resolve(INDEX_DIRECTORY));
+        Path temporaryEntry = Files.createTempFile(indexDirectory, "entry", ".tmp");
+        try {
+            try (OutputStream output = Files.newOutputStream(temporaryEntry)) {
+                entry.store(output, null);
+            }
+            Files.move(temporaryEntry, indexEntry(license, url), REPLACE_EXISTING, ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryEntry);
+        }
+    }
+
+    private Optional<Properties> readIndexEntry(String license, String url) throws IOException {
+        Properties entry = new Properties();
+        try (InputStream input = Files.newInputStream(indexEntry(license, url))) {
+            entry.load(input);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+        return Optional.of(entry);
+    }
+
+    private Optional<CachedObject> findObject(String license, String url) throws IOException {
+        Optional<Properties> entry = readIndexEntry(license, url);
+        if (entry.isEmpty()) {
+            return Optional.empty();
+        }
+        Path file = root.resolve(OBJECTS_DIRECTORY).resolve(entry.get().getProperty(DIGEST, ""));
+        return Files.isRegularFile(file) ? Optional.of(new CachedObject(file, entry.get().getProperty(EXTENSION, ""))) : Optional.empty();
+    }
+
+    private Path indexEntry(String license, String url) {
+        String key = Hashing.sha256().hashString(license + "\n" + url, StandardCharsets.UTF_8).toString();
+        return root.resolve(INDEX_DIRECTORY).resolve(key);
+    }
+
+    private static class CachedObject {
+
+        private final Path file;
+        private final String extension;
+
+        private CachedObject(Path file, String extension) {
+            this.file = file;
+            this.extension = extension;
+        }
+    }
+
+}
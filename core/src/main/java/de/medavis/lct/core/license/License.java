@@ -21,27 +21,37 @@ package de.medavis.lct.core.license;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import java.util.Objects;
 import java.util.StringJoiner;
 
+/**
+ * Licenses are canonical: All factory methods return the same instance for the same values as long as it is in use, so large BOMs do not keep thousands of
+ * equal licenses in memory and sets of licenses are mostly compared by identity.
+ */
 public final class License {
 
+    // Weak, so licenses of finished runs can be collected in long-running processes like Jenkins
+    private static final Interner<License> INSTANCES = Interners.newWeakInterner();
+
     private final String name;
     private final String url;
     private final String downloadUrl;
     private final boolean configured;
+    private final int hashCode;
 
     @JsonCreator
     public static License fromConfig(@JsonProperty("name") String name, @JsonProperty("url") String url, @JsonProperty("downloadUrl") String downloadUrl) {
-        return new License(name, url, downloadUrl, true);
+        return INSTANCES.intern(new License(name, url, downloadUrl, true));
     }
 
     public static License dynamic(String name, String url, String downloadUrl) {
-        return new License(name, url, downloadUrl, false);
+        return INSTANCES.intern(new License(name, url, downloadUrl, false));
     }
 
     public static License dynamic(String name, String url) {
-        return new License(name, url, null, false);
+        return dynamic(name, url, null);
     }
 
     private License(String name, String url, String downloadUrl, boolean configured) {
@@ -49,6 +59,7 @@ public final class License {
         this.url = url;
         this.downloadUrl = downloadUrl;
         this.configured = configured;
+        this.hashCode = Objects.hash(name, url, downloadUrl, configured);
     }
 
     public String getName() {
@@ -80,13 +91,13 @@ public final class License {
             return false;
         }
         License license = (License) o;
-        return configured == license.configured && Objects.equals(name, license.name) && Objects.equals(url, license.url)
+        return hashCode == license.hashCode && configured == license.configured && Objects.equals(name, license.name) && Objects.equals(url, license.url)
                && Objects.equals(downloadUrl, license.downloadUrl);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(name, url, downloadUrl, configured);
+        return hashCode;
     }
 
     @Override
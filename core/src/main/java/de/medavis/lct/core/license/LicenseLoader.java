@@ -20,7 +20,9 @@
 package de.medavis.lct.core.license;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
 import java.net.URL;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
@@ -28,23 +30,32 @@ import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import de.medavis.lct.core.ConfigurationSnapshotCache;
+
 public class LicenseLoader {
 
     private static final Logger log = LoggerFactory.getLogger(LicenseLoader.class);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final ConfigurationSnapshotCache<Map<String, License>> SNAPSHOTS = new ConfigurationSnapshotCache<>(LicenseLoader::parse);
 
+    /**
+     * Load the licenses by name. The result is kept in memory and returned again as long as the content of <code>licenseUrl</code> does not change.
+     */
     public Map<String, License> load(URL licenseUrl) {
-        ObjectMapper objectMapper = new ObjectMapper();
         try {
-            Map<String, License> result = objectMapper.<List<License>>readValue(licenseUrl,
-                            objectMapper.getTypeFactory().constructCollectionType(List.class, License.class))
-                    .stream()
-                    .collect(Collectors.toMap(License::getName, Function.identity()));
-            log.info("Imported {} licenses from {}", result.size(), licenseUrl);
-            return result;
-
+            return SNAPSHOTS.get(licenseUrl);
         } catch (Exception e) {
             throw new IllegalStateException("Failure while processing licenses from " + licenseUrl, e);
         }
     }
 
+    private static Map<String, License> parse(URL licenseUrl, byte[] content) throws IOException {
+        Map<String, License> result = OBJECT_MAPPER.<List<License>>readValue(content,
+                        OBJECT_MAPPER.getTypeFactory().constructCollectionType(List.class, License.class))
+                .stream()
+                .collect(Collectors.toMap(License::getName, Function.identity()));
+        log.info("Imported {} licenses from {}", result.size(), licenseUrl);
+        return Collections.unmodifiableMap(result);
+    }
+
 }
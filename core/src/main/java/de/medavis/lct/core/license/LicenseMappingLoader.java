@@ -22,30 +22,41 @@ package de.medavis.lct.core.license;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
 import java.net.URL;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import de.medavis.lct.core.ConfigurationSnapshotCache;
+
 public class LicenseMappingLoader {
 
     private static final Logger logger = LoggerFactory.getLogger(LicenseMappingLoader.class);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final ConfigurationSnapshotCache<Map<String, String>> SNAPSHOTS = new ConfigurationSnapshotCache<>(LicenseMappingLoader::parse);
 
+    /**
+     * Load the license mappings from alias to canonical name. The result is kept in memory and returned again as long as the content of
+     * <code>licenseMappingUrl</code> does not change.
+     */
     public Map<String, String> load(URL licenseMappingUrl) {
-        ObjectMapper objectMapper = new ObjectMapper();
-
         try {
-            Map<String, String> result = objectMapper.<List<LicenseMapping>>readValue(licenseMappingUrl,
-                            objectMapper.getTypeFactory().constructCollectionType(List.class, LicenseMapping.class))
-                    .stream()
-                    .collect(Collectors.toMap(LicenseMapping::alias, LicenseMapping::canonicalName));
-
-            logger.info("Imported {} component metadata entries from {}.", result.size(), licenseMappingUrl);
-            return result;
+            return SNAPSHOTS.get(licenseMappingUrl);
         } catch (IOException e) {
             throw new IllegalStateException("Failure while processing metadata from " + licenseMappingUrl, e);
         }
     }
 
+    private static Map<String, String> parse(URL licenseMappingUrl, byte[] content) throws IOException {
+        Map<String, String> result = OBJECT_MAPPER.<List<LicenseMapping>>readValue(content,
+                        OBJECT_MAPPER.getTypeFactory().constructCollectionType(List.class, LicenseMapping.class))
+                .stream()
+                .collect(Collectors.toMap(LicenseMapping::alias, LicenseMapping::canonicalName));
+
+        logger.info("Imported {} component metadata entries from {}.", result.size(), licenseMappingUrl);
+        return Collections.unmodifiableMap(result);
+    }
+
 }
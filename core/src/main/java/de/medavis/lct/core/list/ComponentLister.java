@@ -20,18 +20,31 @@
 package de.medavis.lct.core.list;
 
 import com.google.common.base.Strings;
+import com.google.common.base.Throwables;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.InputStream;
-import java.util.Collection;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import de.medavis.lct.core.Configuration;
+import de.medavis.lct.core.asset.Asset;
 import de.medavis.lct.core.asset.AssetLoader;
 import de.medavis.lct.core.asset.Component;
 import de.medavis.lct.core.license.License;
@@ -39,65 +52,240 @@ import de.medavis.lct.core.license.LicenseLoader;
 import de.medavis.lct.core.license.LicenseMappingLoader;
 import de.medavis.lct.core.metadata.ComponentMetaDataLoader;
 import de.medavis.lct.core.metadata.ComponentMetadata;
+import de.medavis.lct.core.metadata.ComponentMetadataIndex;
+import de.medavis.lct.core.metrics.MetricsSink;
+import de.medavis.lct.core.metrics.StageTimer;
 
 public class ComponentLister {
 
+    private static final int CONFIGURATION_SOURCES = 3;
+
+    private static final String COMPONENT_METADATA_STAGE = "configuration.componentMetadata";
+    private static final String LICENSES_STAGE = "configuration.licenses";
+    private static final String LICENSE_MAPPINGS_STAGE = "configuration.licenseMappings";
+    private static final String CONFIGURATION_AWAIT_STAGE = "configuration.await";
+    private static final String MERGE_STAGE = "components.merge";
+    private static final String SORT_STAGE = "components.sort";
+    private static final String IGNORED_COUNTER = "components.ignored";
+    private static final String LISTED_COUNTER = "components.listed";
+    private static final String REUSED_COUNTER = "incremental.reused";
+    private static final String ENRICHED_COUNTER = "incremental.enriched";
+    private static final String MEMO_HITS_COUNTER = "enrichment.memoHits";
+    private static final String MEMO_MISSES_COUNTER = "enrichment.memoMisses";
+
     private final AssetLoader assetLoader;
     private final ComponentMetaDataLoader componentMetaDataLoader;
     private final LicenseLoader licenseLoader;
     private final LicenseMappingLoader licenseMappingLoader;
     private final Configuration configuration;
+    private final MetricsSink metricsSink;
+    private final LoadedConfiguration loadedConfiguration;
+    private final IncrementalComponentCache incrementalCache;
 
     public ComponentLister(AssetLoader assetLoader, ComponentMetaDataLoader componentMetaDataLoader, LicenseLoader licenseLoader,
             LicenseMappingLoader licenseMappingLoader, Configuration configuration) {
+        this(assetLoader, componentMetaDataLoader, licenseLoader, licenseMappingLoader, configuration, MetricsSink.NO_OP);
+    }
+
+    public ComponentLister(AssetLoader assetLoader, ComponentMetaDataLoader componentMetaDataLoader, LicenseLoader licenseLoader,
+            LicenseMappingLoader licenseMappingLoader, Configuration configuration, MetricsSink metricsSink) {
+        this(assetLoader, componentMetaDataLoader, licenseLoader, licenseMappingLoader, configuration, metricsSink, null, null);
+    }
+
+    private ComponentLister(AssetLoader assetLoader, ComponentMetaDataLoader componentMetaDataLoader, LicenseLoader licenseLoader,
+            LicenseMappingLoader licenseMappingLoader, Configuration configuration, MetricsSink metricsSink, LoadedConfiguration loadedConfiguration,
+            IncrementalComponentCache incrementalCache) {
         this.assetLoader = assetLoader;
         this.componentMetaDataLoader = componentMetaDataLoader;
         this.licenseLoader = licenseLoader;
         this.licenseMappingLoader = licenseMappingLoader;
         this.configuration = configuration;
+        this.metricsSink = metricsSink;
+        this.loadedConfiguration = loadedConfiguration;
+        this.incrementalCache = incrementalCache;
+    }
+
+    /**
+     * Load the configuration now and create a lister which uses it for all BOMs instead of loading it again for each BOM. This is useful when processing
+     * many BOMs at once. The returned lister can be used concurrently.
+     */
+    public ComponentLister withLoadedConfiguration() {
+        ExecutorService executor = createConfigurationExecutor();
+        try {
+            return new ComponentLister(assetLoader, componentMetaDataLoader, licenseLoader, licenseMappingLoader, configuration, metricsSink,
+                    await(loadConfiguration(executor)), incrementalCache);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Create a lister which takes the enriched data of components from <code>incrementalCache</code> if they have not changed since the previous run, so
+     * only added or changed components are enriched. The complete list of components is still returned.
+     */
+    public ComponentLister withIncrementalCache(IncrementalComponentCache incrementalCache) {
+        return new ComponentLister(assetLoader, componentMetaDataLoader, licenseLoader, licenseMappingLoader, configuration, metricsSink, loadedConfiguration,
+                incrementalCache);
     }
 
     public List<ComponentData> listComponents(InputStream bomStream) {
-        Collection<ComponentMetadata> componentMetadata = configuration.getComponentMetadataUrl().map(componentMetaDataLoader::load).orElse(Collections.emptyList());
-        Map<String, License> licenses = configuration.getLicensesUrl().map(licenseLoader::load).orElse(Collections.emptyMap());
-        Map<String, String> licenseMappings = configuration.getLicenseMappingsUrl().map(licenseMappingLoader::load).orElse(Collections.emptyMap());
-
-        return assetLoader.loadFromBom(bomStream)
-                .components()
-                .stream()
-                .filter(component -> !isIgnored(component, componentMetadata))
-                .map(component -> enrichWithMetadata(component, componentMetadata, licenses, licenseMappings))
-                .collect(Collectors.groupingBy(ComponentData::getName))
-                .entrySet()
-                .stream()
-                .map(componentByName -> {
-                    // ComponentMetadata has to ensure that component with same name has same url and version
-                    String url = componentByName.getValue().get(0).getUrl();
-                    String version = componentByName.getValue().get(0).getVersion();
-                    Set<License> allLicenses = componentByName.getValue().stream()
-                            .flatMap(cd -> cd.getLicenses().stream())
-                            .collect(Collectors.toCollection(LinkedHashSet::new));
-                    Set<String> attributionNotices = componentByName.getValue().stream()
-                            .flatMap(cd -> cd.getAttributionNotices().stream())
-                            .collect(Collectors.toCollection(LinkedHashSet::new));
-                    return new ComponentData(componentByName.getKey(), url, version, allLicenses, attributionNotices);
-                })
-                .sorted(Comparator.comparing(ComponentData::getName, String.CASE_INSENSITIVE_ORDER))
-                .collect(Collectors.toList());
+        return streamComponents(bomStream).collect(Collectors.toList());
     }
 
-    private boolean isIgnored(Component component, Collection<ComponentMetadata> componentMetadata) {
-        return componentMetadata.stream()
-                .filter(cmd -> cmd.matches(component.group(), component.name()))
-                .map(ComponentMetadata::ignore)
-                .findFirst()
-                .orElse(false);
+    /**
+     * Same as {@link #listComponents(InputStream)}, but the components are created while the returned stream is consumed. Merged component data is
+     * released as soon as its component has been passed on, so consumers like manifest outputters do not need memory for the complete list on top.
+     */
+    public Stream<ComponentData> streamComponents(InputStream bomStream) {
+        return streamComponentsOf(() -> assetLoader.loadFromBom(bomStream));
+    }
+
+    /**
+     * List the components of several BOMs, e.g. to create one manifest for a suite of applications. The BOMs are loaded in parallel and components
+     * contained in several of them are only listed once, see {@link AssetLoader#loadFromBoms(List)}.
+     */
+    public List<ComponentData> listMergedComponents(List<InputStream> bomStreams) {
+        return streamMergedComponents(bomStreams).collect(Collectors.toList());
+    }
+
+    /**
+     * Same as {@link #listMergedComponents(List)}, but the components are created while the returned stream is consumed, like with
+     * {@link #streamComponents(InputStream)}.
+     */
+    public Stream<ComponentData> streamMergedComponents(List<InputStream> bomStreams) {
+        return streamComponentsOf(() -> assetLoader.loadFromBoms(bomStreams));
+    }
+
+    private Stream<ComponentData> streamComponentsOf(Supplier<Asset> assetSupplier) {
+        Map<String, MergedComponent> componentsByName = mergeComponentsByName(assetSupplier);
+        List<String> names = new ArrayList<>(componentsByName.keySet());
+        try (StageTimer ignored = metricsSink.startTimer(SORT_STAGE)) {
+            names.sort(String.CASE_INSENSITIVE_ORDER);
+        }
+        metricsSink.incrementCounter(LISTED_COUNTER, names.size());
+        return names.stream().map(name -> componentsByName.remove(name).toComponentData(name));
+    }
+
+    private Map<String, MergedComponent> mergeComponentsByName(Supplier<Asset> assetSupplier) {
+        if (loadedConfiguration != null) {
+            return mergeComponentsByName(assetSupplier.get(), loadedConfiguration);
+        }
+        // The configuration sources are usually remote, so they are loaded concurrently with each other and with the BOM
+        ExecutorService executor = createConfigurationExecutor();
+        try {
+            CompletableFuture<LoadedConfiguration> currentConfiguration = loadConfiguration(executor);
+            Asset asset = assetSupplier.get();
+            LoadedConfiguration loaded;
+            try (StageTimer ignored = metricsSink.startTimer(CONFIGURATION_AWAIT_STAGE)) {
+                loaded = await(currentConfiguration);
+            }
+            return mergeComponentsByName(asset, loaded);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ExecutorService createConfigurationExecutor() {
+        return Executors.newFixedThreadPool(CONFIGURATION_SOURCES,
+                new ThreadFactoryBuilder().setNameFormat("lct-configuration-loader-%d").setDaemon(true).build());
+    }
+
+    private CompletableFuture<LoadedConfiguration> loadConfiguration(ExecutorService executor) {
+        CompletableFuture<ComponentMetadataIndex> metadataIndex = CompletableFuture.supplyAsync(timed(COMPONENT_METADATA_STAGE,
+                () -> configuration.getComponentMetadataUrl()
+                        .map(componentMetaDataLoader::loadIndex)
+                        .orElseGet(() -> ComponentMetadataIndex.of(Collections.emptyList()))), executor);
+        CompletableFuture<Map<String, License>> licenses = CompletableFuture.supplyAsync(timed(LICENSES_STAGE,
+                () -> configuration.getLicensesUrl().map(licenseLoader::load).orElse(Collections.emptyMap())), executor);
+        CompletableFuture<Map<String, String>> licenseMappings = CompletableFuture.supplyAsync(timed(LICENSE_MAPPINGS_STAGE,
+                () -> configuration.getLicenseMappingsUrl().map(licenseMappingLoader::load).orElse(Collections.emptyMap())), executor);
+        return CompletableFuture.allOf(metadataIndex, licenses, licenseMappings)
+                .thenApply(ignored -> new LoadedConfiguration(metadataIndex.join(), licenses.join(), licenseMappings.join()));
+    }
+
+    private <T> Supplier<T> timed(String stage, Supplier<T> supplier) {
+        return () -> {
+            try (StageTimer ignored = metricsSink.startTimer(stage)) {
+                return supplier.get();
+            }
+        };
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private Map<String, MergedComponent> mergeComponentsByName(Asset asset, LoadedConfiguration loadedConfiguration) {
+        Map<String, MergedComponent> componentsByName = new HashMap<>();
+        long ignoredComponents = 0;
+        long reusedComponents = 0;
+        EnrichmentStatistics statistics = new EnrichmentStatistics();
+        try (StageTimer ignored = metricsSink.startTimer(MERGE_STAGE)) {
+            if (incrementalCache != null) {
+                incrementalCache.useConfiguration(loadedConfiguration.getHash());
+            }
+            for (Component component : asset.components()) {
+                ComponentData componentData;
+                if (incrementalCache != null) {
+                    String fingerprint = IncrementalComponentCache.fingerprint(component);
+                    IncrementalComponentCache.Entry cached = incrementalCache.get(fingerprint);
+                    if (cached != null) {
+                        componentData = cached.getComponentData();
+                        reusedComponents++;
+                    } else {
+                        componentData = enrich(component, loadedConfiguration, statistics);
+                        incrementalCache.put(fingerprint, componentData);
+                    }
+                } else {
+                    componentData = enrich(component, loadedConfiguration, statistics);
+                }
+                if (componentData == null) {
+                    ignoredComponents++;
+                } else {
+                    componentsByName.computeIfAbsent(componentData.getName(), name -> new MergedComponent(componentData)).add(componentData);
+                }
+            }
+        }
+        metricsSink.incrementCounter(IGNORED_COUNTER, ignoredComponents);
+        metricsSink.incrementCounter(MEMO_HITS_COUNTER, statistics.memoHits);
+        metricsSink.incrementCounter(MEMO_MISSES_COUNTER, statistics.memoMisses);
+        if (incrementalCache != null) {
+            metricsSink.incrementCounter(REUSED_COUNTER, reusedComponents);
+            metricsSink.incrementCounter(ENRICHED_COUNTER, asset.components().size() - reusedComponents);
+        }
+        return componentsByName;
+    }
+
+    /**
+     * @return Enriched component, or <code>null</code> if it is ignored
+     */
+    private ComponentData enrich(Component component, LoadedConfiguration loadedConfiguration, EnrichmentStatistics statistics) {
+        // Components differing only in version or URL are enriched the same way, so the result of matching and license conversion is reused
+        EnrichmentKey key = new EnrichmentKey(component);
+        Enrichment enrichment = loadedConfiguration.enrichments.get(key);
+        if (enrichment != null) {
+            statistics.memoHits++;
+        } else {
+            enrichment = resolveEnrichment(component, loadedConfiguration);
+            loadedConfiguration.enrichments.putIfAbsent(key, enrichment);
+            statistics.memoMisses++;
+        }
+        return enrichment.apply(component);
     }
 
-    private ComponentData enrichWithMetadata(Component component, Collection<ComponentMetadata> componentMetadata, Map<String, License> licenses,
-            Map<String, String> licenseMappings) {
-        Stream<License> actualLicenses = componentMetadata.stream()
-                .filter(cmd -> cmd.matches(component.group(), component.name()))
+    private Enrichment resolveEnrichment(Component component, LoadedConfiguration loadedConfiguration) {
+        List<ComponentMetadata> matchingMetadata = loadedConfiguration.metadataIndex.findMatches(component.group(), component.name());
+        ComponentMetadata firstMatch = matchingMetadata.isEmpty() ? null : matchingMetadata.get(0);
+        if (firstMatch != null && firstMatch.ignore()) {
+            return Enrichment.IGNORED;
+        }
+
+        Stream<License> actualLicenses = matchingMetadata.stream()
                 .filter(cmd -> !cmd.licenses().isEmpty())
                 .findFirst()
                 .map(cmd -> cmd.licenses().stream().map(licenseName -> License.dynamic(licenseName, null, null)))
@@ -105,24 +293,167 @@ public class ComponentLister {
 
         Set<License> convertedLicenses = actualLicenses
                 .map(license -> {
-                    String mappedLicenseName = licenseMappings.getOrDefault(license.getName(), license.getName());
-                    return licenses.getOrDefault(mappedLicenseName, License.dynamic(mappedLicenseName, license.getUrl(), license.getDownloadUrl()));
+                    String mappedLicenseName = loadedConfiguration.licenseMappings.getOrDefault(license.getName(), license.getName());
+                    License configuredLicense = loadedConfiguration.licenses.get(mappedLicenseName);
+                    return configuredLicense != null ? configuredLicense : License.dynamic(mappedLicenseName, license.getUrl(), license.getDownloadUrl());
                 })
                 .collect(Collectors.toSet());
 
-        return componentMetadata.stream()
-                .filter(cmd -> cmd.matches(component.group(), component.name()))
-                .findFirst()
-                .map(cmd -> {
-                    String exportName = !Strings.isNullOrEmpty(cmd.mappedName()) ? cmd.mappedName() : combineGroupAndName(component);
-                    String url = !Strings.isNullOrEmpty(cmd.url()) ? cmd.url() : component.url();
-                    return new ComponentData(exportName, url, component.version(), convertedLicenses, cmd.attributionNotices());
-                })
-                .orElse(new ComponentData(combineGroupAndName(component), component.url(), component.version(), convertedLicenses, Collections.emptySet()));
+        if (firstMatch == null) {
+            return new Enrichment(combineGroupAndName(component), null, Collections.unmodifiableSet(convertedLicenses), Collections.emptySet());
+        }
+        String exportName = !Strings.isNullOrEmpty(firstMatch.mappedName()) ? firstMatch.mappedName() : combineGroupAndName(component);
+        String url = !Strings.isNullOrEmpty(firstMatch.url()) ? firstMatch.url() : null;
+        return new Enrichment(exportName, url, Collections.unmodifiableSet(convertedLicenses), firstMatch.attributionNotices());
     }
 
     private String combineGroupAndName(Component component) {
         return Strings.isNullOrEmpty(component.group()) ? component.name() : String.join(".", component.group(), component.name());
     }
 
+    private static class LoadedConfiguration {
+
+        private final ComponentMetadataIndex metadataIndex;
+        private final Map<String, License> licenses;
+        private final Map<String, String> licenseMappings;
+        private final Map<EnrichmentKey, Enrichment> enrichments = new ConcurrentHashMap<>();
+        private volatile String hash;
+
+        private LoadedConfiguration(ComponentMetadataIndex metadataIndex, Map<String, License> licenses, Map<String, String> licenseMappings) {
+            this.metadataIndex = metadataIndex;
+            this.licenses = licenses;
+            this.licenseMappings = licenseMappings;
+        }
+
+        /**
+         * @return Hash of the content of the configuration, which changes whenever enriching a component could produce a different result
+         */
+        private String getHash() {
+            if (hash == null) {
+                Hasher hasher = Hashing.murmur3_128().newHasher();
+                metadataIndex.getEntries().forEach(metadata -> putMetadata(hasher, metadata));
+                new TreeMap<>(licenses).forEach((name, license) -> {
+                    IncrementalComponentCache.putNullable(hasher, name);
+                    IncrementalComponentCache.putLicense(hasher, license);
+                });
+                new TreeMap<>(licenseMappings).forEach((name, mappedName) -> {
+                    IncrementalComponentCache.putNullable(hasher, name);
+                    IncrementalComponentCache.putNullable(hasher, mappedName);
+                });
+                hash = hasher.hash().toString();
+            }
+            return hash;
+        }
+
+        private static void putMetadata(Hasher hasher, ComponentMetadata metadata) {
+            IncrementalComponentCache.putNullable(hasher, metadata.groupMatch());
+            IncrementalComponentCache.putNullable(hasher, metadata.nameMatch());
+            hasher.putBoolean(metadata.ignore());
+            IncrementalComponentCache.putNullable(hasher, metadata.mappedName());
+            IncrementalComponentCache.putNullable(hasher, metadata.url());
+            IncrementalComponentCache.putNullable(hasher, metadata.comment());
+            putStrings(hasher, metadata.licenses());
+            putStrings(hasher, metadata.attributionNotices());
+        }
+
+        private static void putStrings(Hasher hasher, Set<String> values) {
+            // Hashed in iteration order, which is the order of the attribution notices in the manifest
+            hasher.putInt(values != null ? values.size() : -1);
+            if (values != null) {
+                values.forEach(value -> IncrementalComponentCache.putNullable(hasher, value));
+            }
+        }
+    }
+
+    private static final class EnrichmentKey {
+
+        private final String group;
+        private final String name;
+        private final Set<License> licenses;
+        private final int hashCode;
+
+        private EnrichmentKey(Component component) {
+            this.group = component.group();
+            this.name = component.name();
+            this.licenses = component.licenses();
+            this.hashCode = Objects.hash(group, name, licenses);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this)
+                return true;
+            if (obj == null || obj.getClass() != this.getClass())
+                return false;
+            EnrichmentKey that = (EnrichmentKey) obj;
+            return Objects.equals(this.group, that.group) &&
+                   Objects.equals(this.name, that.name) &&
+                   Objects.equals(this.licenses, that.licenses);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * Result of enriching a component which does not depend on its version and URL.
+     */
+    private static final class Enrichment {
+
+        private static final Enrichment IGNORED = new Enrichment(null, null, null, null);
+
+        private final String exportName;
+        private final String url;
+        private final Set<License> licenses;
+        private final Set<String> attributionNotices;
+
+        private Enrichment(String exportName, String url, Set<License> licenses, Set<String> attributionNotices) {
+            this.exportName = exportName;
+            this.url = url;
+            this.licenses = licenses;
+            this.attributionNotices = attributionNotices;
+        }
+
+        /**
+         * @return Enriched component, or <code>null</code> if it is ignored
+         */
+        private ComponentData apply(Component component) {
+            if (this == IGNORED) {
+                return null;
+            }
+            return new ComponentData(exportName, component.version(), url != null ? url : component.url(), licenses, attributionNotices);
+        }
+    }
+
+    private static final class EnrichmentStatistics {
+
+        private long memoHits;
+        private long memoMisses;
+    }
+
+    private static class MergedComponent {
+
+        // ComponentMetadata has to ensure that component with same name has same url and version
+        private final String url;
+        private final String version;
+        private final Set<License> licenses = new LinkedHashSet<>();
+        private final Set<String> attributionNotices = new LinkedHashSet<>();
+
+        private MergedComponent(ComponentData first) {
+            this.url = first.getUrl();
+            this.version = first.getVersion();
+        }
+
+        private void add(ComponentData componentData) {
+            licenses.addAll(componentData.getLicenses());
+            attributionNotices.addAll(componentData.getAttributionNotices());
+        }
+
+        private ComponentData toComponentData(String name) {
+            return new ComponentData(name, version, url, licenses, attributionNotices);
+        }
+    }
+
 }
@@ -0,0 +1,321 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.list;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Strings;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.medavis.lct.core.asset.Component;
+import de.medavis.lct.core.license.License;
+
+/**
+ * Keeps the enriched data of each component in a local file, so that subsequent runs only need to enrich components which have been added or changed
+ * since. Components are identified by a fingerprint of their BOM data. All results are discarded when the configuration has changed.
+ * <p>
+ * Only the components used since the cache has been opened are written when it is closed, so components which have been removed from the BOM are
+ * dropped. URL checks are not covered, use a {@link de.medavis.lct.core.urlchecker.PersistentHttpUrlChecker} for them.
+ */
+public class IncrementalComponentCache implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(IncrementalComponentCache.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Path cacheFile;
+    private final Map<String, Entry> previousEntries = new ConcurrentHashMap<>();
+    private final Map<String, Entry> currentEntries = new ConcurrentHashMap<>();
+    private String configurationHash;
+
+    public IncrementalComponentCache(Path cacheFile) {
+        this.cacheFile = cacheFile;
+        load();
+    }
+
+    private void load() {
+        if (!Files.isRegularFile(cacheFile)) {
+            return;
+        }
+        try {
+            StoredCache stored = objectMapper.readValue(cacheFile.toFile(), StoredCache.class);
+            configurationHash = stored.configurationHash;
+            stored.components.forEach((fingerprint, component) -> previousEntries.put(fingerprint, component.toEntry()));
+            log.info("Imported {} components from {}.", previousEntries.size(), cacheFile);
+        } catch (IOException e) {
+            log.warn("Could not read component cache {}, starting with an empty cache.", cacheFile, e);
+        }
+    }
+
+    /**
+     * Discard all results if they have been created with a different configuration.
+     */
+    synchronized void useConfiguration(String hash) {
+        if (!hash.equals(configurationHash)) {
+            if (configurationHash != null) {
+                log.info("Configuration has changed, discarding {} cached components.", previousEntries.size() + currentEntries.size());
+            }
+            previousEntries.clear();
+            currentEntries.clear();
+            configurationHash = hash;
+        }
+    }
+
+    /**
+     * @return Cached result for the component with <code>fingerprint</code>, or <code>null</code> if it has not been enriched yet
+     */
+    Entry get(String fingerprint) {
+        Entry entry = currentEntries.get(fingerprint);
+        if (entry == null) {
+            entry = previousEntries.remove(fingerprint);
+            if (entry != null) {
+                currentEntries.put(fingerprint, entry);
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * @param componentData Enriched component, <code>null</code> if the component is ignored
+     */
+    void put(String fingerprint, ComponentData componentData) {
+        currentEntries.put(fingerprint, new Entry(componentData));
+    }
+
+    static String fingerprint(Component component) {
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        putNullable(hasher, component.group());
+        putNullable(hasher, component.name());
+        putNullable(hasher, component.version());
+        putNullable(hasher, component.url());
+        component.licenses().stream()
+                .sorted(Comparator.comparing(License::getName).thenComparing(License::getUrl, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .forEach(license -> putLicense(hasher, license));
+        return hasher.hash().toString();
+    }
+
+    static void putLicense(Hasher hasher, License license) {
+        putNullable(hasher, license.getName());
+        putNullable(hasher, license.getUrl());
+        putNullable(hasher, license.getDownloadUrl());
+        hasher.putBoolean(license.isConfigured());
+    }
+
+    static void putNullable(Hasher hasher, String value) {
+        // The length separates consecutive values, -1 separates null from the empty string
+        hasher.putInt(value != null ? value.length() : -1);
+        hasher.putString(Strings.nullToEmpty(value), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Write the results of all components used since the cache has been opened to the cache file.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (configurationHash == null) {
+            return;
+        }
+        Map<String, StoredComponent> components = new TreeMap<>();
+        currentEntries.forEach((fingerprint, entry) -> components.put(fingerprint, StoredComponent.of(entry)));
+        Path directory = cacheFile.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        // Write to a temporary file first so that concurrent runs never see a partially written cache
+        Path temporaryFile = Files.createTempFile(directory, cacheFile.getFileName().toString(), ".tmp");
+        try {
+            objectMapper.writeValue(temporaryFile.toFile(), new StoredCache(configurationHash, components));
+            Files.move(temporaryFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    static final class Entry {
+
+        private final ComponentData componentData;
+
+        private Entry(ComponentData componentData) {
+            this.componentData = componentData;
+        }
+
+        boolean isIgnored() {
+            return componentData == null;
+        }
+
+        ComponentData getComponentData() {
+            return componentData;
+        }
+    }
+
+    static final class StoredCache {
+
+        private final String configurationHash;
+        private final Map<String, StoredComponent> components;
+
+        @JsonCreator
+        StoredCache(@JsonProperty("configurationHash") String configurationHash, @JsonProperty("components") Map<String, StoredComponent> components) {
+            this.configurationHash = configurationHash;
+            this.components = components != null ? components : Collections.emptyMap();
+        }
+
+        @JsonProperty("configurationHash")
+        String getConfigurationHash() {
+            return configurationHash;
+        }
+
+        @JsonProperty("components")
+        Map<String, StoredComponent> getComponents() {
+            return components;
+        }
+    }
+
+    static final class StoredComponent {
+
+        private final boolean ignored;
+        private final String name;
+        private final String version;
+        private final String url;
+        private final List<StoredLicense> licenses;
+        private final List<String> attributionNotices;
+
+        @JsonCreator
+        StoredComponent(@JsonProperty("ignored") boolean ignored, @JsonProperty("name") String name, @JsonProperty("version") String version,
+                @JsonProperty("url") String url, @JsonProperty("licenses") List<StoredLicense> licenses,
+                @JsonProperty("attributionNotices") List<String> attributionNotices) {
+            this.ignored = ignored;
+            this.name = name;
+            this.version = version;
+            this.url = url;
+            this.licenses = licenses != null ? licenses : Collections.emptyList();
+            this.attributionNotices = attributionNotices != null ? attributionNotices : Collections.emptyList();
+        }
+
+        static StoredComponent of(Entry entry) {
+            if (entry.isIgnored()) {
+                return new StoredComponent(true, null, null, null, null, null);
+            }
+            ComponentData data = entry.getComponentData();
+            return new StoredComponent(false, data.getName(), data.getVersion(), data.getUrl(),
+                    data.getLicenses().stream().map(StoredLicense::of).collect(Collectors.toList()), new ArrayList<>(data.getAttributionNotices()));
+        }
+
+        Entry toEntry() {
+            if (ignored) {
+                return new Entry(null);
+            }
+            Set<License> componentLicenses = licenses.stream().map(StoredLicense::toLicense).collect(Collectors.toCollection(LinkedHashSet::new));
+            return new Entry(new ComponentData(name, version, url, componentLicenses, new LinkedHashSet<>(attributionNotices)));
+        }
+
+        @JsonProperty("ignored")
+        boolean isIgnored() {
+            return ignored;
+        }
+
+        @JsonProperty("name")
+        String getName() {
+            return name;
+        }
+
+        @JsonProperty("version")
+        String getVersion() {
+            return version;
+        }
+
+        @JsonProperty("url")
+        String getUrl() {
+            return url;
+        }
+
+        @JsonProperty("licenses")
+        List<StoredLicense> getLicenses() {
+            return licenses;
+        }
+
+        @JsonProperty("attributionNotices")
+        List<String> getAttributionNotices() {
+            return attributionNotices;
+        }
+    }
+
+    static final class StoredLicense {
+
+        private final String name;
+        private final String url;
+        private final String downloadUrl;
+        private final boolean configured;
+
+        @JsonCreator
+        StoredLicense(@JsonProperty("name") String name, @JsonProperty("url") String url, @JsonProperty("downloadUrl") String downloadUrl,
+                @JsonProperty("configured") boolean configured) {
+            this.name = name;
+            this.url = url;
+            this.downloadUrl = downloadUrl;
+            this.configured = configured;
+        }
+
+        static StoredLicense of(License license) {
+            return new StoredLicense(license.getName(), license.getUrl(), license.getDownloadUrl(), license.isConfigured());
+        }
+
+        License toLicense() {
+            return configured ? License.fromConfig(name, url, downloadUrl) : License.dynamic(name, url, downloadUrl);
+        }
+
+        @JsonProperty("name")
+        String getName() {
+            return name;
+        }
+
+        @JsonProperty("url")
+        String getUrl() {
+            return url;
+        }
+
+        @JsonProperty("downloadUrl")
+        String getDownloadUrl() {
+            return downloadUrl;
+        }
+
+        @JsonProperty("configured")
+        boolean isConfigured() {
+            return configured;
+        }
+    }
+
+}
@@ -27,21 +27,35 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import de.medavis.lct.core.ConfigurationSnapshotCache;
+
 public class ComponentMetaDataLoader {
 
     private static final Logger logger = LoggerFactory.getLogger(ComponentMetaDataLoader.class);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final ConfigurationSnapshotCache<ComponentMetadataIndex> SNAPSHOTS = new ConfigurationSnapshotCache<>(ComponentMetaDataLoader::parse);
 
     public Collection<ComponentMetadata> load(URL metadataUrl) {
-        ObjectMapper objectMapper = new ObjectMapper();
+        return loadIndex(metadataUrl).getEntries();
+    }
 
+    /**
+     * Load the metadata and index it for matching. The result is kept in memory and returned again as long as the content of <code>metadataUrl</code>
+     * does not change.
+     */
+    public ComponentMetadataIndex loadIndex(URL metadataUrl) {
         try {
-            List<ComponentMetadata> result = objectMapper.readValue(metadataUrl,
-                    objectMapper.getTypeFactory().constructCollectionType(List.class, ComponentMetadata.class));
-            logger.info("Imported {} component metadata entries from {}.", result.size(), metadataUrl);
-            return result;
+            return SNAPSHOTS.get(metadataUrl);
         } catch (IOException e) {
             throw new IllegalStateException("Failure while processing metadata from " + metadataUrl, e);
         }
     }
 
+    private static ComponentMetadataIndex parse(URL metadataUrl, byte[] content) throws IOException {
+        List<ComponentMetadata> result = OBJECT_MAPPER.readValue(content,
+                OBJECT_MAPPER.getTypeFactory().constructCollectionType(List.class, ComponentMetadata.class));
+        logger.info("Imported {} component metadata entries from {}.", result.size(), metadataUrl);
+        return ComponentMetadataIndex.of(result);
+    }
+
 }
@@ -41,6 +41,8 @@ public final class ComponentMetadata {
     private final String comment;
     private final Set<String> licenses;
     private final Set<String> attributionNotices;
+    private final Pattern groupPattern;
+    private final Pattern namePattern;
 
     @JsonCreator
     public ComponentMetadata(
@@ -62,11 +64,17 @@ public final class ComponentMetadata {
         this.comment = comment;
         this.licenses = licenses;
         this.attributionNotices = attributionNotices;
+        this.groupPattern = compile(groupMatch);
+        this.namePattern = compile(nameMatch);
+    }
+
+    private static Pattern compile(String regex) {
+        return Strings.isNullOrEmpty(regex) ? null : Pattern.compile(regex);
     }
 
     public boolean matches(String group, String name) {
-        boolean matchesGroup = Strings.isNullOrEmpty(groupMatch) || Pattern.matches(groupMatch, Strings.nullToEmpty(group));
-        boolean matchesName = Strings.isNullOrEmpty(nameMatch) || Pattern.matches(nameMatch, name);
+        boolean matchesGroup = groupPattern == null || groupPattern.matcher(Strings.nullToEmpty(group)).matches();
+        boolean matchesName = namePattern == null || namePattern.matcher(name).matches();
         return matchesGroup && matchesName;
     }
 
@@ -0,0 +1,120 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.metadata;
+
+import com.google.common.base.Strings;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Finds the {@link ComponentMetadata} entries matching a component without evaluating every entry.
+ * Entries are indexed by their group expression or, if that matches any group, by their name expression:
+ * Literal expressions are kept in a hash map, expressions consisting of literals and wildcards in a {@link PatternTrie}.
+ * Only entries with other regular expressions are evaluated one by one.
+ */
+public final class ComponentMetadataIndex {
+
+    private final Dimension groups = new Dimension();
+    private final Dimension names = new Dimension();
+    private final List<Entry> unindexed = new ArrayList<>();
+    private final List<ComponentMetadata> entries;
+
+    private ComponentMetadataIndex(Collection<ComponentMetadata> componentMetadata) {
+        this.entries = Collections.unmodifiableList(new ArrayList<>(componentMetadata));
+        int position = 0;
+        for (ComponentMetadata metadata : componentMetadata) {
+            Entry entry = new Entry(position++, metadata);
+            if (!groups.add(metadata.groupMatch(), entry) && !names.add(metadata.nameMatch(), entry)) {
+                unindexed.add(entry);
+            }
+        }
+    }
+
+    public static ComponentMetadataIndex of(Collection<ComponentMetadata> componentMetadata) {
+        return new ComponentMetadataIndex(componentMetadata);
+    }
+
+    /**
+     * @return all entries in the order of the metadata configuration
+     */
+    public List<ComponentMetadata> getEntries() {
+        return entries;
+    }
+
+    /**
+     * @return all entries matching the component in the order of the metadata configuration
+     */
+    public List<ComponentMetadata> findMatches(String group, String name) {
+        List<Entry> candidates = new ArrayList<>(unindexed);
+        groups.collectCandidates(Strings.nullToEmpty(group), candidates);
+        names.collectCandidates(Strings.nullToEmpty(name), candidates);
+        return candidates.stream()
+                .sorted(Comparator.comparingInt(entry -> entry.position))
+                .map(entry -> entry.metadata)
+                .filter(metadata -> metadata.matches(group, name))
+                .collect(Collectors.toList());
+    }
+
+    private static final class Entry {
+
+        private final int position;
+        private final ComponentMetadata metadata;
+
+        private Entry(int position, ComponentMetadata metadata) {
+            this.position = position;
+            this.metadata = metadata;
+        }
+    }
+
+    private static final class Dimension {
+
+        private final Map<String, List<Entry>> literals = new HashMap<>();
+        private final PatternTrie<Entry> patterns = new PatternTrie<>();
+
+        private boolean add(String regex, Entry entry) {
+            if (Strings.isNullOrEmpty(regex)) {
+                return false;
+            }
+            Optional<IndexablePattern> pattern = IndexablePattern.parse(regex);
+            if (pattern.isEmpty()) {
+                return false;
+            }
+            if (pattern.get().isLiteral()) {
+                literals.computeIfAbsent(pattern.get().characters(), key -> new ArrayList<>()).add(entry);
+            } else {
+                patterns.add(pattern.get(), entry);
+            }
+            return true;
+        }
+
+        private void collectCandidates(String value, List<Entry> candidates) {
+            candidates.addAll(literals.getOrDefault(value, List.of()));
+            patterns.collectMatches(value, candidates);
+        }
+    }
+
+}
@@ -0,0 +1,87 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.metadata;
+
+import java.util.BitSet;
+import java.util.Optional;
+
+/**
+ * A match expression that can be resolved without evaluating a regular expression: a sequence of literal characters and single character wildcards
+ * (<code>.</code>), optionally followed by <code>.*</code>. Expressions using any other regular expression construct cannot be represented.
+ */
+final class IndexablePattern {
+
+    private static final String METACHARACTERS = "[](){}*+?^$|";
+
+    private final String characters;
+    private final BitSet wildcards;
+    private final boolean prefix;
+
+    private IndexablePattern(String characters, BitSet wildcards, boolean prefix) {
+        this.characters = characters;
+        this.wildcards = wildcards;
+        this.prefix = prefix;
+    }
+
+    static Optional<IndexablePattern> parse(String regex) {
+        boolean prefix = regex.endsWith(".*") && !regex.endsWith("\\.*");
+        String body = prefix ? regex.substring(0, regex.length() - 2) : regex;
+        StringBuilder characters = new StringBuilder(body.length());
+        BitSet wildcards = new BitSet();
+        for (int i = 0; i < body.length(); i++) {
+            char current = body.charAt(i);
+            if (current == '\\') {
+                if (i + 1 >= body.length() || Character.isLetterOrDigit(body.charAt(i + 1))) {
+                    // Character classes, back references and quotations are real regular expressions
+                    return Optional.empty();
+                }
+                characters.append(body.charAt(++i));
+            } else if (current == '.') {
+                wildcards.set(characters.length());
+                characters.append(current);
+            } else if (METACHARACTERS.indexOf(current) >= 0) {
+                return Optional.empty();
+            } else {
+                characters.append(current);
+            }
+        }
+        return Optional.of(new IndexablePattern(characters.toString(), wildcards, prefix));
+    }
+
+    /**
+     * @return <code>true</code> if the pattern only matches a single string, i.e. {@link #characters()}
+     */
+    boolean isLiteral() {
+        return !prefix && wildcards.isEmpty();
+    }
+
+    String characters() {
+        return characters;
+    }
+
+    boolean isWildcard(int index) {
+        return wildcards.get(index);
+    }
+
+    boolean isPrefix() {
+        return prefix;
+    }
+
+}
@@ -0,0 +1,84 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.metadata;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Trie of {@link IndexablePattern}s which finds all patterns matching a string in a single walk over the string.
+ *
+ * @param <T> type of the values stored for each pattern
+ */
+final class PatternTrie<T> {
+
+    private final Node<T> root = new Node<>();
+
+    void add(IndexablePattern pattern, T value) {
+        Node<T> node = root;
+        String characters = pattern.characters();
+        for (int i = 0; i < characters.length(); i++) {
+            node = pattern.isWildcard(i) ? node.wildcardChild() : node.child(characters.charAt(i));
+        }
+        (pattern.isPrefix() ? node.prefixValues : node.exactValues).add(value);
+    }
+
+    void collectMatches(String input, Collection<T> result) {
+        collectMatches(root, input, 0, result);
+    }
+
+    private void collectMatches(Node<T> node, String input, int position, Collection<T> result) {
+        result.addAll(node.prefixValues);
+        if (position == input.length()) {
+            result.addAll(node.exactValues);
+            return;
+        }
+        Node<T> literal = node.children.get(input.charAt(position));
+        if (literal != null) {
+            collectMatches(literal, input, position + 1, result);
+        }
+        if (node.wildcard != null) {
+            collectMatches(node.wildcard, input, position + 1, result);
+        }
+    }
+
+    private static final class Node<T> {
+
+        private final Map<Character, Node<T>> children = new HashMap<>();
+        private final List<T> exactValues = new ArrayList<>();
+        private final List<T> prefixValues = new ArrayList<>();
+        private Node<T> wildcard;
+
+        private Node<T> child(char character) {
+            return children.computeIfAbsent(character, c -> new Node<>());
+        }
+
+        private Node<T> wildcardChild() {
+            if (wildcard == null) {
+                wildcard = new Node<>();
+            }
+            return wildcard;
+        }
+    }
+
+}
@@ -0,0 +1,58 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.metrics;
+
+import java.time.Duration;
+
+/**
+ * Receives durations and counts of the stages of creating manifests and downloading licenses, e.g. BOM parsing, URL checks or rendering. Stages are
+ * identified by names like <code>asset.read</code>, where the part before the dot names the component reporting it.
+ * <p>
+ * Implementations must be thread-safe, as stages may be reported concurrently.
+ */
+public interface MetricsSink {
+
+    /**
+     * Sink which discards everything, used when no sink is given.
+     */
+    MetricsSink NO_OP = new MetricsSink() {
+        @Override
+        public void recordDuration(String stage, Duration duration) {
+            // Discard
+        }
+
+        @Override
+        public void incrementCounter(String counter, long delta) {
+            // Discard
+        }
+    };
+
+    void recordDuration(String stage, Duration duration);
+
+    void incrementCounter(String counter, long delta);
+
+    /**
+     * Start measuring the duration of <code>stage</code>, which is recorded when the returned timer is closed.
+     */
+    default StageTimer startTimer(String stage) {
+        return new StageTimer(this, stage);
+    }
+
+}
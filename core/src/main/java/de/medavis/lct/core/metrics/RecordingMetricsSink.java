@@ -0,0 +1,93 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.metrics;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import de.medavis.lct.core.UserLogger;
+
+/**
+ * Sink which sums up durations and counts in memory, so that they can be summarized at the end of a run.
+ */
+public class RecordingMetricsSink implements MetricsSink {
+
+    private final Map<String, StageStatistics> stages = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public void recordDuration(String stage, Duration duration) {
+        stages.computeIfAbsent(stage, name -> new StageStatistics()).add(duration);
+    }
+
+    @Override
+    public void incrementCounter(String counter, long delta) {
+        counters.computeIfAbsent(counter, name -> new LongAdder()).add(delta);
+    }
+
+    /**
+     * @return Total duration of all executions of <code>stage</code>
+     */
+    public Duration getDuration(String stage) {
+        StageStatistics statistics = stages.get(stage);
+        return statistics != null ? Duration.ofNanos(statistics.totalNanos.sum()) : Duration.ZERO;
+    }
+
+    public long getExecutions(String stage) {
+        StageStatistics statistics = stages.get(stage);
+        return statistics != null ? statistics.executions.sum() : 0;
+    }
+
+    public long getCount(String counter) {
+        LongAdder count = counters.get(counter);
+        return count != null ? count.sum() : 0;
+    }
+
+    /**
+     * Print the durations and counts, sorted by name. Stages which ran concurrently overlap, so their durations do not add up to the duration of the run.
+     */
+    public void printSummary(UserLogger userLogger) {
+        if (stages.isEmpty() && counters.isEmpty()) {
+            return;
+        }
+        userLogger.info("Stage timings:%n");
+        new TreeMap<>(stages).forEach((stage, statistics) -> {
+            long executions = statistics.executions.sum();
+            userLogger.info("  %-32s %8d ms%s%n", stage, Duration.ofNanos(statistics.totalNanos.sum()).toMillis(),
+                    executions > 1 ? String.format(" (%d times)", executions) : "");
+        });
+        new TreeMap<>(counters).forEach((counter, count) -> userLogger.info("  %-32s %8d%n", counter, count.sum()));
+    }
+
+    private static class StageStatistics {
+
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+
+        private void add(Duration duration) {
+            executions.increment();
+            totalNanos.add(duration.toNanos());
+        }
+    }
+
+}
@@ -0,0 +1,50 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.metrics;
+
+import java.time.Duration;
+
+/**
+ * Measures the duration of one execution of a stage, see {@link MetricsSink#startTimer(String)}.
+ */
+public final class StageTimer implements AutoCloseable {
+
+    private final MetricsSink sink;
+    private final String stage;
+    private final long start = System.nanoTime();
+    private boolean stopped;
+
+    StageTimer(MetricsSink sink, String stage) {
+        this.sink = sink;
+        this.stage = stage;
+    }
+
+    /**
+     * Record the duration since the timer has been started. Only the first call has an effect.
+     */
+    @Override
+    public void close() {
+        if (!stopped) {
+            stopped = true;
+            sink.recordDuration(stage, Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+}
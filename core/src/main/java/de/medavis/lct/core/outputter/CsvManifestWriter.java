@@ -0,0 +1,80 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.outputter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import de.medavis.lct.core.license.License;
+import de.medavis.lct.core.list.ComponentData;
+
+/**
+ * Writes the components as CSV according to RFC 4180, with one row per component after a header row. Columns with several values (licenses, license URLs
+ * and attribution notices) contain one value per line. License names and URLs are written in the same order, with an empty line for licenses without URL.
+ */
+public class CsvManifestWriter implements ManifestWriter {
+
+    private static final String[] HEADER = {"Name", "Version", "URL", "Licenses", "License URLs", "Attribution notices"};
+    private static final String LINE_BREAK = "\r\n";
+    private static final String VALUE_SEPARATOR = "\n";
+
+    @Override
+    public void write(Stream<ComponentData> components, Writer writer) throws IOException {
+        writeRow(writer, HEADER);
+        for (Iterator<ComponentData> iterator = components.iterator(); iterator.hasNext(); ) {
+            ComponentData component = iterator.next();
+            writeRow(writer,
+                    component.getName(),
+                    component.getVersion(),
+                    component.getUrl(),
+                    component.getLicenses().stream().map(License::getName).collect(Collectors.joining(VALUE_SEPARATOR)),
+                    component.getLicenses().stream().map(license -> license.getUrl() != null ? license.getUrl() : "")
+                            .collect(Collectors.joining(VALUE_SEPARATOR)),
+                    String.join(VALUE_SEPARATOR, component.getAttributionNotices()));
+        }
+    }
+
+    private void writeRow(Writer writer, String... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeValue(writer, values[i]);
+        }
+        writer.write(LINE_BREAK);
+    }
+
+    private void writeValue(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+        } else {
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+}
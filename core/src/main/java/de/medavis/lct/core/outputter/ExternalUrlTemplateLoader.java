@@ -33,4 +33,11 @@ public class ExternalUrlTemplateLoader extends URLTemplateLoader {
             return null;
         }
     }
+
+    @Override
+    public long getLastModified(Object templateSource) {
+        long lastModified = super.getLastModified(templateSource);
+        // FreeMarker never reloads a template with unknown modification date, so treat it as modified each time its cache entry is checked
+        return lastModified > 0 ? lastModified : System.currentTimeMillis();
+    }
 }
@@ -21,25 +21,54 @@ package de.medavis.lct.core.outputter;
 
 import com.google.common.base.MoreObjects;
 import freemarker.cache.ClassTemplateLoader;
+import freemarker.cache.MruCacheStorage;
 import freemarker.cache.MultiTemplateLoader;
 import freemarker.cache.TemplateLoader;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
 import freemarker.template.TemplateException;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.Writer;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import de.medavis.lct.core.list.ComponentData;
+import de.medavis.lct.core.metrics.MetricsSink;
+import de.medavis.lct.core.metrics.StageTimer;
 
+/**
+ * Creates component manifests from FreeMarker templates. Parsed templates are cached, so an outputter should be reused across runs, e.g. by using
+ * {@link #shared()}. Instances are thread-safe.
+ * <p>
+ * Remote templates are checked for modifications at most once per update delay. Templates whose server does not report a modification date are
+ * reloaded whenever the delay has passed.
+ */
 public class FreemarkerOutputter {
 
+    public static final int DEFAULT_MAX_CACHED_TEMPLATES = 32;
+    public static final Duration DEFAULT_TEMPLATE_UPDATE_DELAY = Duration.ofMinutes(5);
+
     private static final String DEFAULT_TEMPLATE = "DefaultComponentManifest.ftlh";
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+    private static final String LOAD_TEMPLATE_STAGE = "manifest.loadTemplate";
+    private static final String RENDER_STAGE = "manifest.render";
 
     private final Configuration configuration;
+    private final MetricsSink metricsSink;
 
     public FreemarkerOutputter() {
+        this(DEFAULT_MAX_CACHED_TEMPLATES, DEFAULT_TEMPLATE_UPDATE_DELAY);
+    }
+
+    /**
+     * @param maxCachedTemplates Maximum number of parsed templates kept in memory, least recently used templates are evicted first
+     * @param templateUpdateDelay Time after which a cached template is checked for modifications
+     */
+    public FreemarkerOutputter(int maxCachedTemplates, Duration templateUpdateDelay) {
         configuration = new Configuration(Configuration.DEFAULT_INCOMPATIBLE_IMPROVEMENTS);
         MultiTemplateLoader loader = new MultiTemplateLoader(new TemplateLoader[]{
                 new ClassTemplateLoader(getClass(), ""),
@@ -48,14 +77,66 @@ public class FreemarkerOutputter {
         configuration.setLocalizedLookup(false);
         configuration.setTemplateLoader(loader);
         configuration.setDefaultEncoding("UTF-8");
+        configuration.setCacheStorage(new MruCacheStorage(maxCachedTemplates, 0));
+        configuration.setTemplateUpdateDelayMilliseconds(templateUpdateDelay.toMillis());
+        metricsSink = MetricsSink.NO_OP;
+    }
+
+    private FreemarkerOutputter(Configuration configuration, MetricsSink metricsSink) {
+        this.configuration = configuration;
+        this.metricsSink = metricsSink;
+    }
+
+    /**
+     * @return An outputter with default settings which is shared by all callers in this JVM
+     */
+    public static FreemarkerOutputter shared() {
+        return SharedInstance.INSTANCE;
+    }
+
+    /**
+     * @return An outputter which records its stages in <code>metricsSink</code> and shares the template cache with this outputter
+     */
+    public FreemarkerOutputter withMetricsSink(MetricsSink metricsSink) {
+        return new FreemarkerOutputter(configuration, metricsSink);
     }
 
     public void output(List<ComponentData> data, Writer writer, String templateUrl) throws IOException {
-        Template template = configuration.getTemplate(MoreObjects.firstNonNull(templateUrl, DEFAULT_TEMPLATE));
-        try {
-            template.process(Collections.singletonMap("components", data), writer);
+        process(templateUrl, data, writer);
+    }
+
+    /**
+     * Variant of {@link #output(List, Writer, String)} which renders the components while they are read from <code>data</code>, so they do not need to be
+     * held in memory together. This only works for templates which list the components once, like the default template. Components are collected into a list
+     * for custom templates, as they may access them several times.
+     */
+    public void outputStreaming(Stream<ComponentData> data, Writer writer, String templateUrl) throws IOException {
+        if (templateUrl == null) {
+            // The object wrapper exposes the iterator as a collection which can be listed once
+            process(null, data.iterator(), writer);
+        } else {
+            process(templateUrl, data.collect(Collectors.toList()), writer);
+        }
+    }
+
+    private void process(String templateUrl, Object components, Writer writer) throws IOException {
+        Template template;
+        try (StageTimer ignored = metricsSink.startTimer(LOAD_TEMPLATE_STAGE)) {
+            template = configuration.getTemplate(MoreObjects.firstNonNull(templateUrl, DEFAULT_TEMPLATE));
+        }
+        // Templates write many small fragments, so they are collected in chunks before being passed on
+        Writer bufferedWriter = new BufferedWriter(writer, OUTPUT_BUFFER_SIZE);
+        // When streaming, this includes creating the components
+        try (StageTimer ignored = metricsSink.startTimer(RENDER_STAGE)) {
+            template.process(Collections.singletonMap("components", components), bufferedWriter);
+            bufferedWriter.flush();
         } catch (TemplateException e) {
             throw new IllegalStateException(e);
         }
     }
+
+    private static class SharedInstance {
+
+        private static final FreemarkerOutputter INSTANCE = new FreemarkerOutputter();
+    }
 }
@@ -0,0 +1,76 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.outputter;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import de.medavis.lct.core.license.License;
+import de.medavis.lct.core.list.ComponentData;
+
+/**
+ * Writes the components as JSON array. Each component is an object with <code>name</code>, <code>version</code>, <code>url</code>,
+ * <code>licenses</code> (objects with <code>name</code> and <code>url</code>) and <code>attributionNotices</code>. Missing values are written as
+ * <code>null</code>.
+ */
+public class JsonManifestWriter implements ManifestWriter {
+
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+
+    @Override
+    public void write(Stream<ComponentData> components, Writer writer) throws IOException {
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+            generator.writeStartArray();
+            for (Iterator<ComponentData> iterator = components.iterator(); iterator.hasNext(); ) {
+                writeComponent(generator, iterator.next());
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    private void writeComponent(JsonGenerator generator, ComponentData component) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("name", component.getName());
+        generator.writeStringField("version", component.getVersion());
+        generator.writeStringField("url", component.getUrl());
+        generator.writeArrayFieldStart("licenses");
+        for (License license : component.getLicenses()) {
+            generator.writeStartObject();
+            generator.writeStringField("name", license.getName());
+            generator.writeStringField("url", license.getUrl());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeArrayFieldStart("attributionNotices");
+        for (String attributionNotice : component.getAttributionNotices()) {
+            generator.writeString(attributionNotice);
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+}
@@ -0,0 +1,35 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.outputter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.stream.Stream;
+
+import de.medavis.lct.core.list.ComponentData;
+
+/**
+ * Writes a component manifest in a fixed, machine-readable format without going through a template.
+ */
+public interface ManifestWriter {
+
+    void write(Stream<ComponentData> components, Writer writer) throws IOException;
+
+}
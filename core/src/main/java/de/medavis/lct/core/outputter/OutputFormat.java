@@ -0,0 +1,66 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.outputter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.stream.Stream;
+
+import de.medavis.lct.core.list.ComponentData;
+
+/**
+ * Format of a component manifest.
+ */
+public enum OutputFormat {
+
+    /**
+     * Rendered by {@link FreemarkerOutputter} from the default or a custom template.
+     */
+    TEMPLATE("html", null),
+    JSON("json", new JsonManifestWriter()),
+    CSV("csv", new CsvManifestWriter());
+
+    private final String fileExtension;
+    private final ManifestWriter manifestWriter;
+
+    OutputFormat(String fileExtension, ManifestWriter manifestWriter) {
+        this.fileExtension = fileExtension;
+        this.manifestWriter = manifestWriter;
+    }
+
+    /**
+     * @return The usual file extension of manifests in this format, which is the extension of the default template for {@link #TEMPLATE}
+     */
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    /**
+     * Write the manifest in this format. Templates are only used for {@link #TEMPLATE}, the other formats ignore <code>templateUrl</code>.
+     */
+    public void write(Stream<ComponentData> components, Writer writer, FreemarkerOutputter outputter, String templateUrl) throws IOException {
+        if (manifestWriter == null) {
+            outputter.outputStreaming(components, writer, templateUrl);
+        } else {
+            manifestWriter.write(components, writer);
+        }
+    }
+
+}
@@ -0,0 +1,86 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.urlchecker;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decorator for {@link HttpUrlChecker} which checks every URL only once during its lifetime.
+ * Concurrent checks of the same URL share the pending result.
+ */
+public class CachingHttpUrlChecker implements HttpUrlChecker {
+
+    private final HttpUrlChecker delegate;
+    private final boolean keepResults;
+    private final Map<String, CompletableFuture<Boolean>> results = new ConcurrentHashMap<>();
+
+    public CachingHttpUrlChecker(HttpUrlChecker delegate) {
+        this(delegate, true);
+    }
+
+    private CachingHttpUrlChecker(HttpUrlChecker delegate, boolean keepResults) {
+        this.delegate = delegate;
+        this.keepResults = keepResults;
+    }
+
+    /**
+     * Create a checker which only shares checks in progress and forgets results once they are complete, e.g. for long-running processes in which
+     * results should expire according to the delegate.
+     */
+    public static CachingHttpUrlChecker pendingOnly(HttpUrlChecker delegate) {
+        return new CachingHttpUrlChecker(delegate, false);
+    }
+
+    @Override
+    public boolean isUrlAvailable(String urlString) {
+        return isUrlAvailableAsync(urlString).join();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> isUrlAvailableAsync(String urlString) {
+        CompletableFuture<Boolean> result = results.get(urlString);
+        if (result == null) {
+            // Do not call the delegate inside computeIfAbsent, it may block while waiting for a free connection
+            CompletableFuture<Boolean> pending = new CompletableFuture<>();
+            result = results.putIfAbsent(urlString, pending);
+            if (result == null) {
+                try {
+                    delegate.isUrlAvailableAsync(urlString).whenComplete((available, e) -> {
+                        if (e != null) {
+                            pending.completeExceptionally(e);
+                        } else {
+                            pending.complete(available);
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    pending.completeExceptionally(e);
+                }
+                if (!keepResults) {
+                    pending.whenComplete((available, e) -> results.remove(urlString, pending));
+                }
+                result = pending;
+            }
+        }
+        return result;
+    }
+
+}
@@ -19,8 +19,15 @@
  */
 package de.medavis.lct.core.urlchecker;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface HttpUrlChecker {
 
+    /**
+     * Status code reported by {@link #getStatusCodeAsync(String)} if the URL is invalid or the server could not be reached.
+     */
+    int NO_RESPONSE = -1;
+
     /**
      * Check if <code>urlString</code> is a valid HTTP(S) url and can be accessed. The check is successful only if the result has status code 200.
      *
@@ -28,4 +35,19 @@ public interface HttpUrlChecker {
      * @return
      */
     boolean isUrlAvailable(String urlString);
+
+    /**
+     * Asynchronous variant of {@link #isUrlAvailable(String)}. Implementations that access the network should not block the calling thread.
+     */
+    default CompletableFuture<Boolean> isUrlAvailableAsync(String urlString) {
+        return CompletableFuture.completedFuture(isUrlAvailable(urlString));
+    }
+
+    /**
+     * Determine the status code returned for <code>urlString</code>, or {@link #NO_RESPONSE} if there was no response. Implementations that do not
+     * know the actual status code report 200 for available URLs.
+     */
+    default CompletableFuture<Integer> getStatusCodeAsync(String urlString) {
+        return isUrlAvailableAsync(urlString).thenApply(available -> available ? 200 : NO_RESPONSE);
+    }
 }
@@ -24,7 +24,16 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 
+import com.google.common.base.Strings;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,38 +44,126 @@ import static java.time.temporal.ChronoUnit.SECONDS;
  */
 public class OnlineHttpUrlChecker implements HttpUrlChecker {
 
+    private static final int MAX_CONCURRENT_CHECKS = 32;
+    // Method Not Allowed and Not Implemented
+    private static final Set<Integer> HEAD_REJECTED_STATUS_CODES = Set.of(405, 501);
+
+    private enum ProbeMethod {
+        HEAD {
+            @Override
+            HttpRequest createRequest(URI uri) {
+                return HttpRequest.newBuilder(uri)
+                                  .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                                  .build();
+            }
+        },
+        RANGED_GET {
+            @Override
+            HttpRequest createRequest(URI uri) {
+                return HttpRequest.newBuilder(uri)
+                                  .header("Range", "bytes=0-0")
+                                  .GET()
+                                  .build();
+            }
+        };
+
+        abstract HttpRequest createRequest(URI uri);
+    }
+
     private final Logger log = LoggerFactory.getLogger(getClass());
 
     private final HttpClient httpClient = java.net.http.HttpClient.newBuilder()
                                                                   .followRedirects(HttpClient.Redirect.NORMAL)
                                                                   .connectTimeout(Duration.of(1, SECONDS))
                                                                   .build();
+    private final Semaphore concurrentChecks = new Semaphore(MAX_CONCURRENT_CHECKS);
+    // Sending may block while waiting for a permit, which must not happen on the threads of the HTTP client
+    private final Executor fallbackExecutor = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("lct-url-check-fallback-%d").setDaemon(true).build());
+    private final Map<String, ProbeMethod> probeMethods = new ConcurrentHashMap<>();
 
     @Override
     public boolean isUrlAvailable(String urlString) {
-        boolean result = false;
-        String reason;
+        return isUrlAvailableAsync(urlString).join();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> isUrlAvailableAsync(String urlString) {
+        return getStatusCodeAsync(urlString).thenApply(statusCode -> {
+            if (statusCode == NO_RESPONSE) {
+                return false;
+            }
+            if (statusCode != 200) {
+                return unavailable(urlString, "Status code is " + statusCode);
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Probes the URL with a <code>HEAD</code> request. If the server rejects <code>HEAD</code>, a <code>GET</code> request for the first byte is
+     * sent instead and used for all further URLs on the same host. Sends the requests without waiting for the response. Blocks only if too many
+     * checks are already in flight. The fallback request is sent from a dedicated thread, as it follows the response to the <code>HEAD</code> request.
+     */
+    @Override
+    public CompletableFuture<Integer> getStatusCodeAsync(String urlString) {
+        final URI uri;
+        try {
+            uri = new URI(urlString);
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(noResponse(urlString, e));
+        }
+        String host = Strings.nullToEmpty(uri.getHost());
+        if (probeMethods.getOrDefault(host, ProbeMethod.HEAD) == ProbeMethod.RANGED_GET) {
+            return send(urlString, uri, ProbeMethod.RANGED_GET);
+        }
+        return send(urlString, uri, ProbeMethod.HEAD).thenCompose(statusCode -> {
+            if (HEAD_REJECTED_STATUS_CODES.contains(statusCode)) {
+                log.debug("Host {} rejected HEAD request with status code {}, using ranged GET instead.", host, statusCode);
+                probeMethods.put(host, ProbeMethod.RANGED_GET);
+                return CompletableFuture.supplyAsync(() -> send(urlString, uri, ProbeMethod.RANGED_GET), fallbackExecutor)
+                                        .thenCompose(fallback -> fallback);
+            }
+            return CompletableFuture.completedFuture(statusCode);
+        });
+    }
+
+    private CompletableFuture<Integer> send(String urlString, URI uri, ProbeMethod method) {
+        final HttpRequest req;
         try {
-            var req = HttpRequest.newBuilder()
-                                 .uri(new URI(urlString))
-                                 .GET()
-                                 .build();
-            var resp = httpClient.send(req, HttpResponse.BodyHandlers.discarding());
-            result = resp.statusCode() == 200;
-            reason = "Status code is " + resp.statusCode();
-        } catch(Exception e) {
-            if(e instanceof InterruptedException) {
+            req = method.createRequest(uri);
+            concurrentChecks.acquire();
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
                 // Thread was interrupted, re-interrupt it
                 Thread.currentThread().interrupt();
             }
-            result = false;
-            reason = "Exception: " + e.getMessage();
+            return CompletableFuture.completedFuture(noResponse(urlString, e));
         }
-        if (!result) {
-            log.debug("URL {} is not available. Reason: {}", urlString, reason);
+        try {
+            return httpClient.sendAsync(req, HttpResponse.BodyHandlers.discarding())
+                             .handle((resp, e) -> {
+                                 concurrentChecks.release();
+                                 if (e != null) {
+                                     return noResponse(urlString, e);
+                                 }
+                                 // The server honored the range header, so the resource itself is available
+                                 return resp.statusCode() == 206 ? 200 : resp.statusCode();
+                             });
+        } catch (RuntimeException e) {
+            concurrentChecks.release();
+            return CompletableFuture.completedFuture(noResponse(urlString, e));
         }
-        return result;
+    }
+
+    private int noResponse(String urlString, Throwable e) {
+        unavailable(urlString, "Exception: " + e.getMessage());
+        return NO_RESPONSE;
+    }
 
+    private boolean unavailable(String urlString, String reason) {
+        log.debug("URL {} is not available. Reason: {}", urlString, reason);
+        return false;
     }
 
 }
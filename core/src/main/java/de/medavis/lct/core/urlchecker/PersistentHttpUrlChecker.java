@@ -0,0 +1,173 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.urlchecker;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decorator for {@link HttpUrlChecker} which keeps results in a local file, so that subsequent runs do not need to check the same URLs again.
+ * Each HTTP response is stored with its status code and the time of the check, failed requests are not stored. Available and unavailable URLs are kept for different durations. The file is written when the checker is closed.
+ */
+public class PersistentHttpUrlChecker implements HttpUrlChecker, Closeable {
+
+    public static final Duration DEFAULT_AVAILABLE_TTL = Duration.ofDays(7);
+    public static final Duration DEFAULT_UNAVAILABLE_TTL = Duration.ofDays(1);
+
+    private static final Logger log = LoggerFactory.getLogger(PersistentHttpUrlChecker.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpUrlChecker delegate;
+    private final Path cacheFile;
+    private final Duration availableTtl;
+    private final Duration unavailableTtl;
+    private final Clock clock;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public PersistentHttpUrlChecker(HttpUrlChecker delegate, Path cacheFile, Duration availableTtl, Duration unavailableTtl) {
+        this(delegate, cacheFile, availableTtl, unavailableTtl, Clock.systemUTC());
+    }
+
+    PersistentHttpUrlChecker(HttpUrlChecker delegate, Path cacheFile, Duration availableTtl, Duration unavailableTtl, Clock clock) {
+        this.delegate = delegate;
+        this.cacheFile = cacheFile;
+        this.availableTtl = availableTtl;
+        this.unavailableTtl = unavailableTtl;
+        this.clock = clock;
+        load();
+    }
+
+    private void load() {
+        if (!Files.isRegularFile(cacheFile)) {
+            return;
+        }
+        try {
+            Map<String, Entry> loaded = objectMapper.readValue(cacheFile.toFile(),
+                    objectMapper.getTypeFactory().constructMapType(Map.class, String.class, Entry.class));
+            loaded.forEach((url, entry) -> {
+                if (isFresh(entry)) {
+                    entries.put(url, entry);
+                }
+            });
+            log.info("Imported {} URL availability results from {}.", entries.size(), cacheFile);
+        } catch (IOException e) {
+            log.warn("Could not read URL availability cache {}, starting with an empty cache.", cacheFile, e);
+        }
+    }
+
+    @Override
+    public boolean isUrlAvailable(String urlString) {
+        return isUrlAvailableAsync(urlString).join();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> isUrlAvailableAsync(String urlString) {
+        return getStatusCodeAsync(urlString).thenApply(statusCode -> statusCode == 200);
+    }
+
+    @Override
+    public CompletableFuture<Integer> getStatusCodeAsync(String urlString) {
+        Entry cached = entries.get(urlString);
+        if (cached != null && isFresh(cached)) {
+            return CompletableFuture.completedFuture(cached.statusCode);
+        }
+        return delegate.getStatusCodeAsync(urlString)
+                       .thenApply(statusCode -> {
+                           // Timeouts and network failures say nothing about the URL, so they are checked again in the next run
+                           if (statusCode != NO_RESPONSE) {
+                               entries.put(urlString, new Entry(statusCode, clock.millis()));
+                           }
+                           return statusCode;
+                       });
+    }
+
+    private boolean isFresh(Entry entry) {
+        Duration ttl = entry.statusCode == 200 ? availableTtl : unavailableTtl;
+        return clock.millis() - entry.checkedAt < ttl.toMillis();
+    }
+
+    /**
+     * Write all results which have not expired yet to the cache file. Saving is best effort, failures are only logged so that they do not fail the run.
+     */
+    @Override
+    public void close() {
+        try {
+            save();
+        } catch (IOException e) {
+            log.warn("Could not save URL availability cache {}.", cacheFile, e);
+        }
+    }
+
+    private void save() throws IOException {
+        Map<String, Entry> fresh = new TreeMap<>();
+        entries.forEach((url, entry) -> {
+            if (isFresh(entry)) {
+                fresh.put(url, entry);
+            }
+        });
+        Path directory = cacheFile.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        // Write to a temporary file first so that concurrent runs never see a partially written cache
+        Path temporaryFile = Files.createTempFile(directory, cacheFile.getFileName().toString(), ".tmp");
+        try {
+            objectMapper.writeValue(temporaryFile.toFile(), fresh);
+            Files.move(temporaryFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    static final class Entry {
+
+        private final int statusCode;
+        private final long checkedAt;
+
+        @JsonCreator
+        Entry(@JsonProperty("statusCode") int statusCode, @JsonProperty("checkedAt") long checkedAt) {
+            this.statusCode = statusCode;
+            this.checkedAt = checkedAt;
+        }
+
+        @JsonProperty("statusCode")
+        int getStatusCode() {
+            return statusCode;
+        }
+
+        @JsonProperty("checkedAt")
+        long getCheckedAt() {
+            return checkedAt;
+        }
+    }
+
+}
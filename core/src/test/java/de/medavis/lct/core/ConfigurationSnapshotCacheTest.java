@@ -0,0 +1,98 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.absent;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.ok;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@WireMockTest
+class ConfigurationSnapshotCacheTest {
+
+    private static final String CONFIG_PATH = "/licenses.json";
+    private static final String ETAG = "\"v1\"";
+
+    private final AtomicInteger parseCount = new AtomicInteger();
+    private final ConfigurationSnapshotCache<String> underTest = new ConfigurationSnapshotCache<>((source, content) -> {
+        parseCount.incrementAndGet();
+        return new String(content, StandardCharsets.UTF_8);
+    });
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void shouldParseFileAgainOnlyWhenContentChanges() throws IOException {
+        Path configFile = Files.writeString(tempDir.resolve("licenses.json"), "[]");
+        URL configUrl = configFile.toUri().toURL();
+
+        assertThat(underTest.get(configUrl)).isEqualTo("[]");
+        assertThat(underTest.get(configUrl)).isEqualTo("[]");
+        assertThat(parseCount).hasValue(1);
+
+        Files.writeString(configFile, "[{}]");
+
+        assertThat(underTest.get(configUrl)).isEqualTo("[{}]");
+        assertThat(parseCount).hasValue(2);
+    }
+
+    @Test
+    void shouldRevalidateHttpSourceWithEntityTag(WireMockRuntimeInfo wiremock) throws IOException {
+        stubFor(get(urlEqualTo(CONFIG_PATH)).withHeader("If-None-Match", absent()).willReturn(ok("[]").withHeader("ETag", ETAG)));
+        stubFor(get(urlEqualTo(CONFIG_PATH)).withHeader("If-None-Match", equalTo(ETAG)).willReturn(aResponse().withStatus(304)));
+        URL configUrl = new URL(wiremock.getHttpBaseUrl() + CONFIG_PATH);
+
+        assertThat(underTest.get(configUrl)).isEqualTo("[]");
+        assertThat(underTest.get(configUrl)).isEqualTo("[]");
+
+        assertThat(parseCount).hasValue(1);
+        verify(getRequestedFor(urlEqualTo(CONFIG_PATH)).withHeader("If-None-Match", equalTo(ETAG)));
+    }
+
+    @Test
+    void shouldNotParseUnchangedHttpSourceWithoutEntityTag(WireMockRuntimeInfo wiremock) throws IOException {
+        stubFor(get(urlEqualTo(CONFIG_PATH)).willReturn(ok("[]")));
+        URL configUrl = new URL(wiremock.getHttpBaseUrl() + CONFIG_PATH);
+
+        underTest.get(configUrl);
+        underTest.get(configUrl);
+
+        assertThat(parseCount).hasValue(1);
+    }
+
+}
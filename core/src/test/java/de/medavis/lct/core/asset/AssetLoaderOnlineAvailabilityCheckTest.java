@@ -33,11 +33,12 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.any;
 import static com.github.tomakehurst.wiremock.client.WireMock.notFound;
 import static com.github.tomakehurst.wiremock.client.WireMock.ok;
 import static com.github.tomakehurst.wiremock.client.WireMock.removeAllMappings;
 import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @WireMockTest
@@ -67,8 +68,8 @@ class AssetLoaderOnlineAvailabilityCheckTest {
 
     @Test
     void shouldPreferVCSOverWebsite(WireMockRuntimeInfo wmRuntimeInfo) {
-        stubFor(get(URL_PATH_VCS).willReturn(ok()));
-        stubFor(get(URL_PATH_WEBSITE).willReturn(ok()));
+        stubFor(any(urlEqualTo(URL_PATH_VCS)).willReturn(ok()));
+        stubFor(any(urlEqualTo(URL_PATH_WEBSITE)).willReturn(ok()));
 
         Asset actual = underTest.loadFromBom(bomWithWireMockUrl);
 
@@ -77,8 +78,8 @@ class AssetLoaderOnlineAvailabilityCheckTest {
 
     @Test
     void shouldUseWebsiteIfVCSIsNotAvailable(WireMockRuntimeInfo wmRuntimeInfo) {
-        stubFor(get(URL_PATH_VCS).willReturn(notFound()));
-        stubFor(get(URL_PATH_WEBSITE).willReturn(ok()));
+        stubFor(any(urlEqualTo(URL_PATH_VCS)).willReturn(notFound()));
+        stubFor(any(urlEqualTo(URL_PATH_WEBSITE)).willReturn(ok()));
 
         Asset actual = underTest.loadFromBom(bomWithWireMockUrl);
 
@@ -87,8 +88,8 @@ class AssetLoaderOnlineAvailabilityCheckTest {
 
     @Test
     void shouldReturnNullWhenBothVCSAndWebsiteAreNotAvailable(WireMockRuntimeInfo wmRuntimeInfo) {
-        stubFor(get(URL_PATH_VCS).willReturn(notFound()));
-        stubFor(get(URL_PATH_WEBSITE).willReturn(notFound()));
+        stubFor(any(urlEqualTo(URL_PATH_VCS)).willReturn(notFound()));
+        stubFor(any(urlEqualTo(URL_PATH_WEBSITE)).willReturn(notFound()));
 
         Asset actual = underTest.loadFromBom(bomWithWireMockUrl);
 
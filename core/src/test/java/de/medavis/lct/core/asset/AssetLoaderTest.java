@@ -20,13 +20,19 @@
 package de.medavis.lct.core.asset;
 
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ArgumentsSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import de.medavis.lct.core.license.License;
 
@@ -37,9 +43,9 @@ class AssetLoaderTest {
     private final AssetLoader underTest = new AssetLoader();
 
     @ParameterizedTest
-    @ValueSource(strings = {"-1.4", "-1.5"})
+    @ValueSource(strings = {"-1.4.json", "-1.5.json", "-1.5.xml"})
     void shouldLoadAssetFromBOM(String bomSuffix) {
-        InputStream sampleBomStream = getClass().getResourceAsStream(SAMPLE_BOM  + bomSuffix + ".json");
+        InputStream sampleBomStream = getClass().getResourceAsStream(SAMPLE_BOM  + bomSuffix);
 
         Asset actual = underTest.loadFromBom(sampleBomStream);
 
@@ -58,5 +64,53 @@ class AssetLoaderTest {
         );
     }
 
+    @Test
+    void shouldReadMetadataFollowingComponents() {
+        String bom = "{\"components\": [{\"group\": \"org.slf4j\", \"name\": \"slf4j-api\", \"version\": \"2.0.13\"}],"
+                     + " \"metadata\": {\"component\": {\"group\": \"de.medavis\", \"name\": \"lct\", \"version\": \"1.0.0\"}}}";
+
+        Asset actual = underTest.loadFromBom(new ByteArrayInputStream(bom.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(actual.name()).isEqualTo("de.medavis.lct");
+        assertThat(actual.version()).isEqualTo("1.0.0");
+        assertThat(actual.components()).containsExactly(new Component("org.slf4j", "slf4j-api", "2.0.13", null, Collections.emptySet()));
+    }
+
+    @Test
+    void shouldMergeComponentsOfSeveralBoms() {
+        String first = "{\"components\": [{\"group\": \"org.slf4j\", \"name\": \"slf4j-api\", \"version\": \"2.0.13\","
+                       + " \"licenses\": [{\"license\": {\"id\": \"MIT\"}}]}]}";
+        String second = "{\"components\": [{\"group\": \"org.slf4j\", \"name\": \"slf4j-api\", \"version\": \"2.0.13\","
+                        + " \"licenses\": [{\"license\": {\"id\": \"Apache-2.0\"}}]},"
+                        + " {\"group\": \"org.slf4j\", \"name\": \"slf4j-simple\", \"version\": \"2.0.13\"}]}";
+
+        Asset actual = underTest.loadFromBoms(List.of(new ByteArrayInputStream(first.getBytes(StandardCharsets.UTF_8)),
+                new ByteArrayInputStream(second.getBytes(StandardCharsets.UTF_8))));
+
+        assertThat(actual.components()).containsExactlyInAnyOrder(
+                new Component("org.slf4j", "slf4j-api", "2.0.13", null, ImmutableSet.of(License.dynamic("MIT", null), License.dynamic("Apache-2.0", null))),
+                new Component("org.slf4j", "slf4j-simple", "2.0.13", null, Collections.emptySet()));
+    }
+
+    @Test
+    void shouldShareEqualStringsOfComponents() {
+        String bom = "{\"components\": [{\"group\": \"org.slf4j\", \"name\": \"slf4j-api\", \"version\": \"2.0.13\"},"
+                     + " {\"group\": \"org.slf4j\", \"name\": \"slf4j-simple\", \"version\": \"2.0.13\"}]}";
+
+        Asset actual = underTest.loadFromBom(new ByteArrayInputStream(bom.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(actual.components()).hasSize(2);
+        Component first = Iterables.get(actual.components(), 0);
+        Component second = Iterables.get(actual.components(), 1);
+        assertThat(first.group()).isSameAs(second.group());
+        assertThat(first.version()).isSameAs(second.version());
+    }
+
+    @Test
+    void shouldRejectUnknownFormat() {
+        InputStream bomStream = new ByteArrayInputStream("bomFormat: CycloneDX".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> underTest.loadFromBom(bomStream)).isInstanceOf(IllegalStateException.class);
+    }
 
 }
@@ -0,0 +1,71 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.asset;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.medavis.lct.core.license.License;
+
+class AssetMergerTest {
+
+    private static final License MIT = License.dynamic("MIT", "https://opensource.org/licenses/MIT");
+    private static final License APACHE = License.dynamic("Apache-2.0", null);
+
+    @Test
+    void keepsDistinctComponents() {
+        Asset first = new Asset("first", "1.0.0", Set.of(new Component("org.example", "a", "1.0.0", null, Set.of(MIT))));
+        Asset second = new Asset("second", "2.0.0", Set.of(
+                new Component("org.example", "a", "2.0.0", null, Set.of(MIT)),
+                new Component("org.example", "b", "1.0.0", null, Set.of(MIT)),
+                new Component(null, "a", "1.0.0", null, Set.of(MIT))));
+
+        Asset actual = AssetMerger.merge(List.of(first, second));
+
+        assertThat(actual.name()).isNull();
+        assertThat(actual.version()).isNull();
+        assertThat(actual.components()).containsExactlyInAnyOrder(
+                new Component("org.example", "a", "1.0.0", null, Set.of(MIT)),
+                new Component("org.example", "a", "2.0.0", null, Set.of(MIT)),
+                new Component("org.example", "b", "1.0.0", null, Set.of(MIT)),
+                new Component(null, "a", "1.0.0", null, Set.of(MIT)));
+    }
+
+    @Test
+    void mergesDuplicateComponents() {
+        Asset first = new Asset("first", "1.0.0", Set.of(new Component("org.example", "a", "1.0.0", null, Set.of(MIT))));
+        Asset second = new Asset("second", "1.0.0", Set.of(new Component("org.example", "a", "1.0.0", "https://example.org", Set.of(APACHE))));
+        Asset third = new Asset("third", "1.0.0", Set.of(new Component("org.example", "a", "1.0.0", "https://example.com", Set.of(MIT))));
+
+        Asset actual = AssetMerger.merge(List.of(first, second, third));
+
+        assertThat(actual.components()).containsExactly(new Component("org.example", "a", "1.0.0", "https://example.org", Set.of(MIT, APACHE)));
+        assertThat(first.components()).containsExactly(new Component("org.example", "a", "1.0.0", null, Set.of(MIT)));
+    }
+
+    @Test
+    void mergeNothing() {
+        assertThat(AssetMerger.merge(Collections.emptyList()).components()).isEmpty();
+    }
+}
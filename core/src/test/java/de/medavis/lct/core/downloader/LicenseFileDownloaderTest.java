@@ -23,7 +23,11 @@ import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
 import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
 import com.github.tomakehurst.wiremock.junit5.WireMockTest;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
 import org.apache.http.HttpHeaders;
 import org.apache.http.entity.ContentType;
 import org.junit.jupiter.api.BeforeEach;
@@ -32,14 +36,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import de.medavis.lct.core.downloader.LicenseFileDownloader.Result;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
 import static com.github.tomakehurst.wiremock.client.WireMock.ok;
 import static com.github.tomakehurst.wiremock.client.WireMock.okForContentType;
 import static com.github.tomakehurst.wiremock.client.WireMock.permanentRedirect;
 import static com.github.tomakehurst.wiremock.client.WireMock.serverError;
 import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -52,6 +64,8 @@ class LicenseFileDownloaderTest {
     private static final String REDIRECTED_URL = "/redirected";
     private static final String LICENSE = "downloaded";
     private static final String DOWNLOAD_CONTENT = "You should download me.";
+    private static final String ETAG = "\"v1\"";
+    private static final String LAST_MODIFIED = "Wed, 01 May 2024 10:00:00 GMT";
 
     private String baseUrl;
 
@@ -60,9 +74,14 @@ class LicenseFileDownloaderTest {
 
     private final LicenseFileDownloader fileDownloader = new LicenseFileDownloader();
 
+    private final Map<String, String> savedFiles = new HashMap<>();
+
     @BeforeEach
-    void beforeEach(WireMockRuntimeInfo wiremock) {
+    void beforeEach(WireMockRuntimeInfo wiremock) throws IOException {
         baseUrl = wiremock.getHttpBaseUrl();
+        lenient().doAnswer(invocation -> savedFiles.put(invocation.<String>getArgument(0) + invocation.<String>getArgument(2),
+                          new String(invocation.<InputStream>getArgument(3).readAllBytes(), StandardCharsets.UTF_8)))
+                 .when(handlerMock).save(anyString(), anyString(), anyString(), any(InputStream.class));
     }
 
     @Test
@@ -129,12 +148,50 @@ class LicenseFileDownloaderTest {
 
     @Test
     void shouldNotDownloadCachedLicenseFile() throws IOException {
-        when(handlerMock.isCached(LICENSE)).thenReturn(true);
+        when(handlerMock.isCached(LICENSE, baseUrl + INITIAL_URL)).thenReturn(true);
 
         download();
 
-        verify(handlerMock).copyFromCache(LICENSE);
-        verify(handlerMock, never()).save(any(), any(), any());
+        verify(handlerMock).copyFromCache(LICENSE, baseUrl + INITIAL_URL);
+        verify(handlerMock, never()).save(any(), any(), any(), any(InputStream.class));
+    }
+
+    @Test
+    void shouldStoreValidatorsOfDownloadedFile() throws IOException {
+        stubFor(get(INITIAL_URL).willReturn(okWithLength(DOWNLOAD_CONTENT).withHeader(HttpHeaders.ETAG, ETAG).withHeader(HttpHeaders.LAST_MODIFIED, LAST_MODIFIED)));
+
+        download();
+
+        verify(handlerMock).saveCacheValidators(LICENSE, baseUrl + INITIAL_URL, new CacheValidators(ETAG, LAST_MODIFIED));
+    }
+
+    @Test
+    void shouldUseCachedFileIfNotModified() throws IOException {
+        when(handlerMock.isCached(LICENSE, baseUrl + INITIAL_URL)).thenReturn(true);
+        when(handlerMock.getCacheValidators(LICENSE, baseUrl + INITIAL_URL)).thenReturn(Optional.of(new CacheValidators(ETAG, LAST_MODIFIED)));
+        stubFor(get(INITIAL_URL).withHeader(HttpHeaders.IF_NONE_MATCH, equalTo(ETAG))
+                                .withHeader(HttpHeaders.IF_MODIFIED_SINCE, equalTo(LAST_MODIFIED))
+                                .willReturn(aResponse().withStatus(304)));
+
+        Result result = new LicenseFileDownloader(true).downloadToFile(baseUrl + INITIAL_URL, LICENSE, handlerMock);
+
+        assertThat(result).isEqualTo(Result.NOT_MODIFIED);
+        verify(handlerMock).copyFromCache(LICENSE, baseUrl + INITIAL_URL);
+        verify(handlerMock, never()).save(any(), any(), any(), any(InputStream.class));
+    }
+
+    @Test
+    void shouldDownloadModifiedFileWhenRevalidating() throws IOException {
+        when(handlerMock.isCached(LICENSE, baseUrl + INITIAL_URL)).thenReturn(true);
+        when(handlerMock.getCacheValidators(LICENSE, baseUrl + INITIAL_URL)).thenReturn(Optional.of(new CacheValidators(ETAG, null)));
+        stubFor(get(INITIAL_URL).willReturn(okWithLength(DOWNLOAD_CONTENT).withHeader(HttpHeaders.ETAG, "\"v2\"")));
+
+        Result result = new LicenseFileDownloader(true).downloadToFile(baseUrl + INITIAL_URL, LICENSE, handlerMock);
+
+        assertThat(result).isEqualTo(Result.DOWNLOADED);
+        verifyDownload(LICENSE, "", DOWNLOAD_CONTENT);
+        verify(handlerMock).saveCacheValidators(LICENSE, baseUrl + INITIAL_URL, new CacheValidators("\"v2\"", null));
+        verify(handlerMock, never()).copyFromCache(any(), any());
     }
 
     private void download() throws IOException {
@@ -142,7 +199,7 @@ class LicenseFileDownloaderTest {
     }
 
     private void verifyDownload(String license, String extension, String expectedContent) throws IOException {
-        verify(handlerMock).save(license, extension, expectedContent.getBytes(StandardCharsets.UTF_8));
+        assertThat(savedFiles).containsOnly(entry(license + extension, expectedContent));
     }
 
     private ResponseDefinitionBuilder okWithLength(String downloadContent) {
@@ -0,0 +1,54 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.downloader;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LicenseFileIndexTest {
+
+    private final LicenseFileIndex<String> underTest = new LicenseFileIndex<>();
+
+    @Test
+    void shouldFindExistingFileIgnoringExtensionAndCase() {
+        underTest.addExisting("MIT.txt", "MIT.txt");
+
+        assertThat(underTest.get("mit")).contains("MIT.txt");
+        assertThat(underTest.get("MIT.txt")).contains("MIT.txt");
+        assertThat(underTest.get("MIT-0")).isEmpty();
+    }
+
+    @Test
+    void shouldFindExistingFileWithoutExtension() {
+        underTest.addExisting("Apache-2.0", "Apache-2.0");
+
+        assertThat(underTest.get("Apache-2.0")).contains("Apache-2.0");
+    }
+
+    @Test
+    void shouldPreferSavedFile() {
+        underTest.addExisting("EPL-1.0.html", "EPL-1.0.html");
+        underTest.put("EPL-1.0", "EPL-1.0.txt");
+
+        assertThat(underTest.get("EPL-1.0")).contains("EPL-1.0.txt");
+    }
+
+}
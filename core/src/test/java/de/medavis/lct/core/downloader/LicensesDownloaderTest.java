@@ -27,20 +27,28 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Mock.Strictness;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import de.medavis.lct.core.UserLogger;
+import de.medavis.lct.core.downloader.LicenseFileDownloader.Result;
 import de.medavis.lct.core.license.License;
 import de.medavis.lct.core.list.ComponentData;
 import de.medavis.lct.core.list.ComponentLister;
@@ -116,6 +124,73 @@ class LicensesDownloaderTest {
 
     }
 
+    @Test
+    void shouldDownloadInParallelAndReportInOrder() throws IOException {
+        setup(component(
+                configuredLicense("A", true, true),
+                configuredLicense("B", true, true),
+                configuredLicense("C", true, true),
+                configuredLicense("D", true, true)));
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(licenseFileDownloader.downloadToFile(any(), any(), any())).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            running.decrementAndGet();
+            return Result.DOWNLOADED;
+        });
+        underTest = new LicensesDownloader(componentLister, licenseFileDownloader, 2);
+
+        underTest.download(userLogger, new ByteArrayInputStream(new byte[0]), Mockito.mock(LicenseFileHandler.class), false, 4);
+
+        verifyDownloaded(DOWNLOAD_URL, "A", "B", "C", "D");
+        assertThat(maxRunning.get()).isEqualTo(2);
+        InOrder inOrder = Mockito.inOrder(userLogger);
+        for (String license : Arrays.asList("A", "B", "C", "D")) {
+            inOrder.verify(userLogger).info(startsWith("(%d/%d)"), any(), eq(4), eq(license), any());
+        }
+    }
+
+    @Test
+    void shouldNotBlockDownloadsFromOtherHostsWhileHostLimitIsReached() throws IOException {
+        String otherHostUrl = "http://other-host/download/D";
+        setup(component(
+                configuredLicense("A", true, true),
+                configuredLicense("B", true, true),
+                configuredLicense("C", true, true),
+                License.fromConfig("D", null, otherHostUrl)));
+        CountDownLatch otherHostDownloaded = new CountDownLatch(1);
+        when(licenseFileDownloader.downloadToFile(startsWith(BASE_URL), any(), any())).thenAnswer(invocation -> {
+            // Would wait forever if the second worker was waiting for the host of this download
+            assertThat(otherHostDownloaded.await(10, TimeUnit.SECONDS)).isTrue();
+            return Result.DOWNLOADED;
+        });
+        when(licenseFileDownloader.downloadToFile(eq(otherHostUrl), any(), any())).thenAnswer(invocation -> {
+            otherHostDownloaded.countDown();
+            return Result.DOWNLOADED;
+        });
+        underTest = new LicensesDownloader(componentLister, licenseFileDownloader, 1);
+
+        underTest.download(userLogger, new ByteArrayInputStream(new byte[0]), Mockito.mock(LicenseFileHandler.class), false, 2);
+
+        verifyDownloaded(DOWNLOAD_URL, "A", "B", "C");
+        verify(licenseFileDownloader).downloadToFile(eq(otherHostUrl), any(), any());
+        verify(userLogger, Mockito.never()).error(startsWith("Could not download"), any(), any(), any());
+    }
+
+    @Test
+    void shouldSummarizeFailedDownloads() throws IOException {
+        setup(
+                component(configuredLicense("A", true, true)),
+                component(configuredLicense("B", true, true)));
+        when(licenseFileDownloader.downloadToFile(eq(BASE_URL + createUrl(DOWNLOAD_URL, "A")), any(), any())).thenThrow(new IOException("Not found"));
+        when(licenseFileDownloader.downloadToFile(eq(BASE_URL + createUrl(DOWNLOAD_URL, "B")), any(), any())).thenReturn(Result.DOWNLOADED);
+
+        underTest.download(userLogger, new ByteArrayInputStream(new byte[0]), Mockito.mock(LicenseFileHandler.class), false, 2);
+
+        verify(userLogger).error(startsWith("Could not download"), eq(1), eq(2), eq(Collections.singletonList("A")));
+    }
+
     private void setup(ComponentData... components) {
         when(componentLister.listComponents(any())).thenReturn(Arrays.asList(components));
         underTest = new LicensesDownloader(componentLister, licenseFileDownloader);
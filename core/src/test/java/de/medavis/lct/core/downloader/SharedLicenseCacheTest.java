@@ -0,0 +1,148 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.downloader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SharedLicenseCacheTest {
+
+    private static final String LICENSE = "MIT";
+    private static final String URL = "https://opensource.org/licenses/MIT";
+    private static final String CONTENT = "This is MIT";
+
+    @TempDir
+    private Path cacheRoot;
+    @TempDir
+    private Path outputDirectory;
+
+    @Test
+    void shouldMaterializeStoredLicense() throws IOException {
+        var underTest = new SharedLicenseCache(cacheRoot);
+        underTest.store(LICENSE, URL, ".txt", writeLicense(LICENSE + ".txt", CONTENT));
+        Path otherOutput = outputDirectory.resolve("other");
+
+        assertThat(underTest.contains(LICENSE, URL)).isTrue();
+        assertThat(underTest.materialize(LICENSE, URL, otherOutput)).contains(otherOutput.resolve(LICENSE + ".txt"));
+
+        assertThat(otherOutput.resolve(LICENSE + ".txt")).hasContent(CONTENT);
+    }
+
+    @Test
+    void shouldDistinguishLicensesBySourceUrl() throws IOException {
+        var underTest = new SharedLicenseCache(cacheRoot);
+        underTest.store(LICENSE, URL, ".txt", writeLicense(LICENSE + ".txt", CONTENT));
+
+        assertThat(underTest.contains(LICENSE, "https://example.com/MIT")).isFalse();
+        assertThat(underTest.materialize(LICENSE, "https://example.com/MIT", outputDirectory.resolve("other"))).isEmpty();
+        assertThat(outputDirectory.resolve("other")).doesNotExist();
+    }
+
+    @Test
+    void shouldStoreIdenticalContentOnce() throws IOException {
+        var underTest = new SharedLicenseCache(cacheRoot);
+        underTest.store(LICENSE, URL, ".txt", writeLicense(LICENSE + ".txt", CONTENT));
+        underTest.store("Expat", "https://example.com/Expat", ".txt", writeLicense("Expat.txt", CONTENT));
+
+        try (Stream<Path> objects = Files.list(cacheRoot.resolve("objects"))) {
+            assertThat(objects).hasSize(1);
+        }
+        assertThat(underTest.materialize("Expat", "https://example.com/Expat", outputDirectory.resolve("other"))).isPresent();
+        assertThat(outputDirectory.resolve("other").resolve("Expat.txt")).hasContent(CONTENT);
+    }
+
+    @Test
+    void shouldReplaceExistingFileWhenMaterializing() throws IOException {
+        var underTest = new SharedLicenseCache(cacheRoot);
+        underTest.store(LICENSE, URL, ".txt", writeLicense(LICENSE + ".txt", CONTENT));
+        Path otherOutput = Files.createDirectories(outputDirectory.resolve("other"));
+        Files.writeString(otherOutput.resolve(LICENSE + ".txt"), "outdated");
+
+        underTest.materialize(LICENSE, URL, otherOutput);
+
+        assertThat(otherOutput.resolve(LICENSE + ".txt")).hasContent(CONTENT);
+    }
+
+    @Test
+    void shouldCopyByDefault() throws IOException {
+        var underTest = new SharedLicenseCache(cacheRoot);
+        underTest.store(LICENSE, URL, ".txt", writeLicense(LICENSE + ".txt", CONTENT));
+        Path otherOutput = outputDirectory.resolve("other");
+        underTest.materialize(LICENSE, URL, otherOutput);
+
+        Files.writeString(otherOutput.resolve(LICENSE + ".txt"), "modified");
+
+        assertThat(underTest.materialize(LICENSE, URL, outputDirectory.resolve("third"))).isPresent();
+        assertThat(outputDirectory.resolve("third").resolve(LICENSE + ".txt")).hasContent(CONTENT);
+    }
+
+    @Test
+    void shouldOptionallyLinkReadOnlyFiles() throws IOException {
+        var underTest = new SharedLicenseCache(cacheRoot, true);
+        underTest.store(LICENSE, URL, ".txt", writeLicense(LICENSE + ".txt", CONTENT));
+        Path otherOutput = outputDirectory.resolve("other");
+
+        underTest.materialize(LICENSE, URL, otherOutput);
+
+        Path linked = otherOutput.resolve(LICENSE + ".txt");
+        try (Stream<Path> objects = Files.list(cacheRoot.resolve("objects"))) {
+            assertThat(Files.isSameFile(linked, objects.findFirst().orElseThrow())).isTrue();
+        }
+        if (linked.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            assertThat(Files.getPosixFilePermissions(linked)).doesNotContain(PosixFilePermission.OWNER_WRITE);
+        }
+    }
+
+    @Test
+    void shouldDiscardCorruptedContent() throws IOException {
+        var underTest = new SharedLicenseCache(cacheRoot);
+        underTest.store(LICENSE, URL, ".txt", writeLicense(LICENSE + ".txt", CONTENT));
+        try (Stream<Path> objects = Files.list(cacheRoot.resolve("objects"))) {
+            Files.writeString(objects.findFirst().orElseThrow(), "truncated");
+        }
+
+        assertThat(underTest.materialize(LICENSE, URL, outputDirectory.resolve("other"))).isEmpty();
+        assertThat(underTest.contains(LICENSE, URL)).isFalse();
+    }
+
+    @Test
+    void shouldKeepValidatorsOfStoredLicense() throws IOException {
+        var underTest = new SharedLicenseCache(cacheRoot);
+        underTest.store(LICENSE, URL, ".txt", writeLicense(LICENSE + ".txt", CONTENT));
+
+        assertThat(underTest.getValidators(LICENSE, URL)).isEmpty();
+        underTest.storeValidators(LICENSE, URL, new CacheValidators("\"abc\"", null));
+
+        assertThat(underTest.getValidators(LICENSE, URL)).contains(new CacheValidators("\"abc\"", null));
+        assertThat(underTest.contains(LICENSE, URL)).isTrue();
+    }
+
+    private Path writeLicense(String fileName, String content) throws IOException {
+        return Files.writeString(outputDirectory.resolve(fileName), content);
+    }
+
+}
@@ -0,0 +1,50 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.license;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LicenseTest {
+
+    @Test
+    void shouldReturnSameInstanceForSameValues() {
+        assertThat(License.dynamic("MIT", "https://mit.license", null)).isSameAs(License.dynamic("MIT", "https://mit.license"));
+        assertThat(License.fromConfig("MIT", "https://mit.license", "https://mit.download")).isSameAs(
+                License.fromConfig("MIT", "https://mit.license", "https://mit.download"));
+    }
+
+    @Test
+    void shouldDistinguishConfiguredAndDynamicLicenses() {
+        License configured = License.fromConfig("MIT", "https://mit.license", null);
+        License dynamic = License.dynamic("MIT", "https://mit.license", null);
+
+        assertThat(configured).isNotEqualTo(dynamic);
+        assertThat(configured.isDynamic()).isFalse();
+        assertThat(dynamic.isDynamic()).isTrue();
+    }
+
+    @Test
+    void shouldDistinguishLicensesWithDifferentUrls() {
+        assertThat(License.dynamic("MIT", "https://mit.license")).isNotEqualTo(License.dynamic("MIT", "https://other.license"));
+        assertThat(License.dynamic("MIT", null)).isNotEqualTo(License.dynamic("MIT", "https://mit.license"));
+    }
+}
@@ -21,12 +21,17 @@ package de.medavis.lct.core.list;
 
 import com.google.common.collect.ImmutableSet;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -37,9 +42,11 @@ import static org.mockito.Mockito.when;
 import de.medavis.lct.core.license.LicenseLoader;
 import de.medavis.lct.core.license.LicenseMappingLoader;
 import de.medavis.lct.core.metadata.ComponentMetaDataLoader;
+import de.medavis.lct.core.metadata.ComponentMetadataIndex;
 import de.medavis.lct.core.Configuration;
 import de.medavis.lct.core.asset.AssetLoader;
 import de.medavis.lct.core.license.License;
+import de.medavis.lct.core.metrics.RecordingMetricsSink;
 
 class ComponentListerTest {
 
@@ -203,19 +210,121 @@ class ComponentListerTest {
                 );
     }
 
+    @Test
+    void loadConfigurationSourcesConcurrently() {
+        Configuration configuration = Mockito.mock(Configuration.class);
+        URL metadataUrl = getResourceURL("metadata", "metadata-empty", "json");
+        URL licenseUrl = getResourceURL("license", "license-empty", "json");
+        URL licenseMappingUrl = getResourceURL("license", "licensemapping-empty", "json");
+        when(configuration.getComponentMetadataUrl()).thenReturn(Optional.of(metadataUrl));
+        when(configuration.getLicensesUrl()).thenReturn(Optional.of(licenseUrl));
+        when(configuration.getLicenseMappingsUrl()).thenReturn(Optional.of(licenseMappingUrl));
+        // Each source only completes once all sources have started loading
+        CountDownLatch allStarted = new CountDownLatch(3);
+        ComponentMetaDataLoader metaDataLoader = Mockito.mock(ComponentMetaDataLoader.class);
+        LicenseLoader licenseLoader = Mockito.mock(LicenseLoader.class);
+        LicenseMappingLoader licenseMappingLoader = Mockito.mock(LicenseMappingLoader.class);
+        when(metaDataLoader.loadIndex(metadataUrl)).then(invocation -> awaitAll(allStarted, ComponentMetadataIndex.of(Collections.emptyList())));
+        when(licenseLoader.load(licenseUrl)).then(invocation -> awaitAll(allStarted, Collections.emptyMap()));
+        when(licenseMappingLoader.load(licenseMappingUrl)).then(invocation -> awaitAll(allStarted, Collections.emptyMap()));
+
+        ComponentLister componentLister = new ComponentLister(new AssetLoader(), metaDataLoader, licenseLoader, licenseMappingLoader, configuration);
+
+        assertThat(componentLister.listComponents(getResourceStream("asset", "test-bom", "json"))).hasSize(3);
+    }
+
+    @Test
+    void streamComponentsInSameOrderAsList() {
+        ComponentLister componentLister = createComponentLister("metadata-mergeLogback", "license-empty", "licensemapping-empty");
+
+        assertThat(componentLister.streamComponents(getResourceStream("asset", "test-bom-modifiedLicense", "json")))
+                .containsExactlyElementsOf(componentLister.listComponents(getResourceStream("asset", "test-bom-modifiedLicense", "json")));
+    }
+
+    @Test
+    void reuseLoadedConfiguration() {
+        Configuration configuration = Mockito.mock(Configuration.class);
+        URL metadataUrl = getResourceURL("metadata", "metadata-mergeLogback", "json");
+        when(configuration.getComponentMetadataUrl()).thenReturn(Optional.of(metadataUrl));
+        when(configuration.getLicensesUrl()).thenReturn(Optional.empty());
+        when(configuration.getLicenseMappingsUrl()).thenReturn(Optional.empty());
+        ComponentMetaDataLoader metaDataLoader = Mockito.spy(new ComponentMetaDataLoader());
+
+        ComponentLister componentLister = new ComponentLister(new AssetLoader(), metaDataLoader, new LicenseLoader(), new LicenseMappingLoader(),
+                configuration).withLoadedConfiguration();
+        List<ComponentData> first = componentLister.listComponents(getResourceStream("asset", "test-bom", "json"));
+        List<ComponentData> second = componentLister.listComponents(getResourceStream("asset", "test-bom", "json"));
+
+        assertThat(first).extracting(ComponentData::getName).containsExactly("Logback", "org.slf4j.slf4j-api");
+        assertThat(second).isEqualTo(first);
+        Mockito.verify(metaDataLoader, Mockito.times(1)).loadIndex(metadataUrl);
+    }
+
+    @Test
+    void recordStageMetrics() {
+        Configuration configuration = Mockito.mock(Configuration.class);
+        when(configuration.getComponentMetadataUrl()).thenReturn(Optional.of(getResourceURL("metadata", "metadata-ignoreLogback", "json")));
+        when(configuration.getLicensesUrl()).thenReturn(Optional.empty());
+        when(configuration.getLicenseMappingsUrl()).thenReturn(Optional.empty());
+        RecordingMetricsSink metricsSink = new RecordingMetricsSink();
+
+        new ComponentLister(new AssetLoader(false, metricsSink), new ComponentMetaDataLoader(), new LicenseLoader(), new LicenseMappingLoader(),
+                configuration, metricsSink).listComponents(getResourceStream("asset", "test-bom", "json"));
+
+        assertThat(metricsSink.getExecutions("asset.read")).isEqualTo(1);
+        assertThat(metricsSink.getExecutions("configuration.componentMetadata")).isEqualTo(1);
+        assertThat(metricsSink.getExecutions("configuration.licenses")).isEqualTo(1);
+        assertThat(metricsSink.getExecutions("components.merge")).isEqualTo(1);
+        assertThat(metricsSink.getCount("asset.components")).isEqualTo(3);
+        assertThat(metricsSink.getCount("components.ignored")).isEqualTo(2);
+        assertThat(metricsSink.getCount("components.listed")).isEqualTo(1);
+    }
+
+    @Test
+    void reuseEnrichmentOfComponentsWithSameNameAndLicenses() {
+        String bom = "{\"components\": ["
+                     + "{\"group\": \"org.example\", \"name\": \"a\", \"version\": \"1.0.0\", \"licenses\": [{\"license\": {\"id\": \"MIT\"}}]},"
+                     + "{\"group\": \"org.example\", \"name\": \"a\", \"version\": \"2.0.0\", \"licenses\": [{\"license\": {\"id\": \"MIT\"}}]},"
+                     + "{\"group\": \"org.example\", \"name\": \"b\", \"version\": \"1.0.0\", \"licenses\": [{\"license\": {\"id\": \"MIT\"}}]},"
+                     + "{\"group\": \"org.example\", \"name\": \"b\", \"version\": \"2.0.0\", \"licenses\": [{\"license\": {\"id\": \"Apache-2.0\"}}]}]}";
+        Configuration configuration = Mockito.mock(Configuration.class);
+        when(configuration.getComponentMetadataUrl()).thenReturn(Optional.empty());
+        when(configuration.getLicensesUrl()).thenReturn(Optional.empty());
+        when(configuration.getLicenseMappingsUrl()).thenReturn(Optional.empty());
+        RecordingMetricsSink metricsSink = new RecordingMetricsSink();
+
+        List<ComponentData> actual = new ComponentLister(new AssetLoader(), new ComponentMetaDataLoader(), new LicenseLoader(), new LicenseMappingLoader(),
+                configuration, metricsSink).listComponents(new ByteArrayInputStream(bom.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(actual).extracting(ComponentData::getName).containsExactly("org.example.a", "org.example.b");
+        assertThat(actual.get(0).getLicenses()).containsExactly(License.dynamic("MIT", null));
+        assertThat(actual.get(1).getLicenses()).containsExactlyInAnyOrder(License.dynamic("MIT", null), License.dynamic("Apache-2.0", null));
+        assertThat(metricsSink.getCount("enrichment.memoHits")).isEqualTo(1);
+        assertThat(metricsSink.getCount("enrichment.memoMisses")).isEqualTo(3);
+    }
+
+    private static <T> T awaitAll(CountDownLatch allStarted, T result) throws InterruptedException {
+        allStarted.countDown();
+        assertThat(allStarted.await(10, TimeUnit.SECONDS)).as("All configuration sources are loaded concurrently").isTrue();
+        return result;
+    }
+
     private Collection<ComponentData> executeTest(String metadataFile, String licenseFile, String licenseMappingFile, String bomFile) {
+        return createComponentLister(metadataFile, licenseFile, licenseMappingFile).listComponents(getResourceStream("asset", bomFile, "json"));
+    }
+
+    private ComponentLister createComponentLister(String metadataFile, String licenseFile, String licenseMappingFile) {
         Configuration configuration = Mockito.mock(Configuration.class);
         when(configuration.getComponentMetadataUrl()).thenReturn(Optional.of(getResourceURL("metadata", metadataFile, "json")));
         when(configuration.getLicensesUrl()).thenReturn(Optional.of(getResourceURL("license", licenseFile, "json")));
         when(configuration.getLicenseMappingsUrl()).thenReturn(Optional.of(getResourceURL("license", licenseMappingFile, "json")));
 
-        ComponentLister componentLister = new ComponentLister(
+        return new ComponentLister(
                 new AssetLoader(),
                 new ComponentMetaDataLoader(),
                 new LicenseLoader(),
                 new LicenseMappingLoader(),
                 configuration);
-        return componentLister.listComponents(getResourceStream("asset", bomFile, "json"));
     }
 
     private URL getResourceURL(String directory, String filename, String extension) {
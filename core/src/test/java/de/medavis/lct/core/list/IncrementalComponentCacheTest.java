@@ -0,0 +1,139 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.list;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import de.medavis.lct.core.Configuration;
+import de.medavis.lct.core.asset.AssetLoader;
+import de.medavis.lct.core.license.LicenseLoader;
+import de.medavis.lct.core.license.LicenseMappingLoader;
+import de.medavis.lct.core.metadata.ComponentMetaDataLoader;
+import de.medavis.lct.core.metrics.RecordingMetricsSink;
+
+class IncrementalComponentCacheTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void reuseUnchangedComponents() throws IOException {
+        List<ComponentData> first = listIncrementally("metadata-mergeLogback", "test-bom", new RecordingMetricsSink());
+        RecordingMetricsSink metricsSink = new RecordingMetricsSink();
+
+        List<ComponentData> second = listIncrementally("metadata-mergeLogback", "test-bom", metricsSink);
+
+        assertThat(second).isEqualTo(first).isEqualTo(listWithoutCache("metadata-mergeLogback", "test-bom"));
+        assertThat(metricsSink.getCount("incremental.reused")).isEqualTo(3);
+        assertThat(metricsSink.getCount("incremental.enriched")).isZero();
+    }
+
+    @Test
+    void enrichChangedComponents() throws IOException {
+        listIncrementally("metadata-empty", "test-bom", new RecordingMetricsSink());
+        RecordingMetricsSink metricsSink = new RecordingMetricsSink();
+
+        List<ComponentData> actual = listIncrementally("metadata-empty", "test-bom-modifiedLicense", metricsSink);
+
+        assertThat(actual).isEqualTo(listWithoutCache("metadata-empty", "test-bom-modifiedLicense"));
+        assertThat(metricsSink.getCount("incremental.reused")).isEqualTo(2);
+        assertThat(metricsSink.getCount("incremental.enriched")).isEqualTo(1);
+    }
+
+    @Test
+    void reuseIgnoredComponents() throws IOException {
+        listIncrementally("metadata-ignoreLogback", "test-bom", new RecordingMetricsSink());
+        RecordingMetricsSink metricsSink = new RecordingMetricsSink();
+
+        List<ComponentData> actual = listIncrementally("metadata-ignoreLogback", "test-bom", metricsSink);
+
+        assertThat(actual).extracting(ComponentData::getName).containsExactly("org.slf4j.slf4j-api");
+        assertThat(metricsSink.getCount("incremental.reused")).isEqualTo(3);
+        assertThat(metricsSink.getCount("components.ignored")).isEqualTo(2);
+    }
+
+    @Test
+    void discardComponentsWhenConfigurationChanges() throws IOException {
+        listIncrementally("metadata-empty", "test-bom", new RecordingMetricsSink());
+        RecordingMetricsSink metricsSink = new RecordingMetricsSink();
+
+        List<ComponentData> actual = listIncrementally("metadata-mergeLogback", "test-bom", metricsSink);
+
+        assertThat(actual).isEqualTo(listWithoutCache("metadata-mergeLogback", "test-bom"));
+        assertThat(metricsSink.getCount("incremental.reused")).isZero();
+        assertThat(metricsSink.getCount("incremental.enriched")).isEqualTo(3);
+    }
+
+    @Test
+    void discardComponentsWhenAttributionNoticesChange() throws IOException {
+        listIncrementally("metadata-mergeLogback", "test-bom", new RecordingMetricsSink());
+        RecordingMetricsSink metricsSink = new RecordingMetricsSink();
+
+        List<ComponentData> actual = listIncrementally("metadata-logbackAttributionNotice", "test-bom", metricsSink);
+
+        assertThat(actual).isEqualTo(listWithoutCache("metadata-logbackAttributionNotice", "test-bom"));
+        assertThat(metricsSink.getCount("incremental.reused")).isZero();
+    }
+
+    @Test
+    void startWithEmptyCacheIfFileIsCorrupt() throws IOException {
+        Files.writeString(tempDir.resolve("components.json"), "{ corrupt");
+        RecordingMetricsSink metricsSink = new RecordingMetricsSink();
+
+        List<ComponentData> actual = listIncrementally("metadata-empty", "test-bom", metricsSink);
+
+        assertThat(actual).isEqualTo(listWithoutCache("metadata-empty", "test-bom"));
+        assertThat(metricsSink.getCount("incremental.enriched")).isEqualTo(3);
+    }
+
+    private List<ComponentData> listIncrementally(String metadataFile, String bomFile, RecordingMetricsSink metricsSink) throws IOException {
+        try (IncrementalComponentCache cache = new IncrementalComponentCache(tempDir.resolve("components.json"))) {
+            return createComponentLister(metadataFile, metricsSink).withIncrementalCache(cache).listComponents(getBom(bomFile));
+        }
+    }
+
+    private List<ComponentData> listWithoutCache(String metadataFile, String bomFile) {
+        return createComponentLister(metadataFile, new RecordingMetricsSink()).listComponents(getBom(bomFile));
+    }
+
+    private ComponentLister createComponentLister(String metadataFile, RecordingMetricsSink metricsSink) {
+        Configuration configuration = Mockito.mock(Configuration.class);
+        when(configuration.getComponentMetadataUrl()).thenReturn(Optional.of(getClass().getResource("/metadata/" + metadataFile + ".json")));
+        when(configuration.getLicensesUrl()).thenReturn(Optional.of(getClass().getResource("/license/license-lgpl.json")));
+        when(configuration.getLicenseMappingsUrl()).thenReturn(Optional.of(getClass().getResource("/license/licensemapping-lgpl.json")));
+        return new ComponentLister(new AssetLoader(false, metricsSink), new ComponentMetaDataLoader(), new LicenseLoader(), new LicenseMappingLoader(),
+                configuration, metricsSink);
+    }
+
+    private InputStream getBom(String bomFile) {
+        return getClass().getResourceAsStream("/asset/" + bomFile + ".json");
+    }
+}
@@ -0,0 +1,101 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.metadata;
+
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ComponentMetadataIndexTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            // literal
+            "ch\\.qos\\.logback, ch.qos.logback, true",
+            "ch\\.qos\\.logback, ch.qos.logbackX, false",
+            // wildcards
+            "ch.qos.logback, chXqosXlogback, true",
+            "ch.qos.logback, ch.qos.logbac, false",
+            // prefix
+            "ch\\.qos\\..*, ch.qos.logback, true",
+            "ch\\.qos\\..*, ch.qos., true",
+            "ch\\.qos\\..*, ch.qo, false",
+            ".*, anything, true",
+            // real regular expressions
+            "(ch|org)\\.qos\\.logback, org.qos.logback, true",
+            "ch\\.qos\\.[a-z]+, ch.qos.logback, true",
+            "ch\\.qos\\.[a-z]+, ch.qos.42, false",
+            "my\\.component\\.*, my.component..., true",
+            "\\Qch.qos\\E.*, ch.qos.logback, true",
+    })
+    void shouldMatchLikeRegularExpression(String groupMatch, String group, boolean matches) {
+        ComponentMetadataIndex underTest = ComponentMetadataIndex.of(List.of(metadata(groupMatch, null)));
+
+        assertThat(underTest.findMatches(group, "name")).hasSize(matches ? 1 : 0);
+    }
+
+    @Test
+    void shouldMatchNameIfGroupIsNotSet() {
+        ComponentMetadata byName = metadata(null, "logback-.*");
+        ComponentMetadataIndex underTest = ComponentMetadataIndex.of(List.of(byName));
+
+        assertThat(underTest.findMatches(null, "logback-core")).containsExactly(byName);
+        assertThat(underTest.findMatches("ch.qos.logback", "slf4j-api")).isEmpty();
+    }
+
+    @Test
+    void shouldRequireGroupAndNameToMatch() {
+        ComponentMetadata both = metadata("ch\\.qos\\.logback", "logback-core");
+        ComponentMetadataIndex underTest = ComponentMetadataIndex.of(List.of(both));
+
+        assertThat(underTest.findMatches("ch.qos.logback", "logback-core")).containsExactly(both);
+        assertThat(underTest.findMatches("ch.qos.logback", "logback-classic")).isEmpty();
+    }
+
+    @Test
+    void shouldKeepConfigurationOrderAcrossIndexes() {
+        ComponentMetadata regex = metadata("(ch)\\.qos\\.logback", null);
+        ComponentMetadata prefix = metadata("ch\\..*", null);
+        ComponentMetadata literal = metadata("ch\\.qos\\.logback", null);
+        ComponentMetadata byName = metadata(null, "logback-core");
+        ComponentMetadata other = metadata("org\\.slf4j", null);
+        ComponentMetadataIndex underTest = ComponentMetadataIndex.of(List.of(byName, literal, other, prefix, regex));
+
+        assertThat(underTest.findMatches("ch.qos.logback", "logback-core")).containsExactly(byName, literal, prefix, regex);
+    }
+
+    @Test
+    void shouldMatchEmptyGroup() {
+        ComponentMetadata prefix = metadata(".*", null);
+        ComponentMetadata literal = metadata("my\\.group", null);
+        ComponentMetadataIndex underTest = ComponentMetadataIndex.of(List.of(literal, prefix));
+
+        assertThat(underTest.findMatches(null, "name")).containsExactly(prefix);
+    }
+
+    private static ComponentMetadata metadata(String groupMatch, String nameMatch) {
+        return new ComponentMetadata(groupMatch, nameMatch, false, null, null, null, Collections.emptySet(), Collections.emptySet());
+    }
+
+}
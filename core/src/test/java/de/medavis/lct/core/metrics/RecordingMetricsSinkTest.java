@@ -0,0 +1,103 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.metrics;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.medavis.lct.core.UserLogger;
+
+class RecordingMetricsSinkTest {
+
+    private final RecordingMetricsSink metricsSink = new RecordingMetricsSink();
+
+    @Test
+    void sumsDurationsAndCounters() {
+        metricsSink.recordDuration("stage", Duration.ofMillis(20));
+        metricsSink.recordDuration("stage", Duration.ofMillis(30));
+        metricsSink.incrementCounter("counter", 2);
+        metricsSink.incrementCounter("counter", 3);
+
+        assertThat(metricsSink.getDuration("stage")).isEqualTo(Duration.ofMillis(50));
+        assertThat(metricsSink.getExecutions("stage")).isEqualTo(2);
+        assertThat(metricsSink.getCount("counter")).isEqualTo(5);
+        assertThat(metricsSink.getDuration("unknown")).isEqualTo(Duration.ZERO);
+        assertThat(metricsSink.getExecutions("unknown")).isZero();
+        assertThat(metricsSink.getCount("unknown")).isZero();
+    }
+
+    @Test
+    void timerRecordsOnlyOnce() {
+        StageTimer timer = metricsSink.startTimer("stage");
+        timer.close();
+        timer.close();
+
+        assertThat(metricsSink.getExecutions("stage")).isEqualTo(1);
+    }
+
+    @Test
+    void printSummarySortedByName() {
+        metricsSink.recordDuration("b.stage", Duration.ofMillis(20));
+        metricsSink.recordDuration("a.stage", Duration.ofMillis(10));
+        metricsSink.recordDuration("a.stage", Duration.ofMillis(15));
+        metricsSink.incrementCounter("c.counter", 7);
+        List<String> lines = new ArrayList<>();
+
+        metricsSink.printSummary(new CollectingUserLogger(lines));
+
+        assertThat(lines).containsExactly(
+                "Stage timings:%n",
+                String.format("  %-32s %8d ms (2 times)%n", "a.stage", 25),
+                String.format("  %-32s %8d ms%n", "b.stage", 20),
+                String.format("  %-32s %8d%n", "c.counter", 7));
+    }
+
+    @Test
+    void printNothingWithoutMetrics() {
+        List<String> lines = new ArrayList<>();
+
+        metricsSink.printSummary(new CollectingUserLogger(lines));
+
+        assertThat(lines).isEmpty();
+    }
+
+    private static class CollectingUserLogger implements UserLogger {
+
+        private final List<String> lines;
+
+        private CollectingUserLogger(List<String> lines) {
+            this.lines = lines;
+        }
+
+        @Override
+        public void info(String format, Object... args) {
+            lines.add(args.length > 0 ? String.format(format, args) : format);
+        }
+
+        @Override
+        public void error(String format, Object... args) {
+            lines.add(args.length > 0 ? String.format(format, args) : format);
+        }
+    }
+}
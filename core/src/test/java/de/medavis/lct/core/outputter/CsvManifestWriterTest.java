@@ -0,0 +1,65 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.outputter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.medavis.lct.core.license.License;
+import de.medavis.lct.core.list.ComponentData;
+
+class CsvManifestWriterTest {
+
+    private static final String HEADER = "Name,Version,URL,Licenses,License URLs,Attribution notices\r\n";
+
+    private final CsvManifestWriter underTest = new CsvManifestWriter();
+
+    @Test
+    void writeComponents() throws IOException {
+        Set<License> licenses = new LinkedHashSet<>(List.of(License.dynamic("LIC-A", "https://license-a.com"), License.dynamic("LIC-B", null)));
+        ComponentData componentA = new ComponentData("ComponentA", "1.0.0", "https://component-a.com", licenses, Set.of("Copyright (c) 2020"));
+        ComponentData componentB = new ComponentData("ComponentB", null, null, Set.of(), Set.of());
+        StringWriter output = new StringWriter();
+
+        underTest.write(Stream.of(componentA, componentB), output);
+
+        assertThat(output).hasToString(HEADER
+                + "ComponentA,1.0.0,https://component-a.com,\"LIC-A\nLIC-B\",\"https://license-a.com\n\",Copyright (c) 2020\r\n"
+                + "ComponentB,,,,,\r\n");
+    }
+
+    @Test
+    void quoteSpecialCharacters() throws IOException {
+        ComponentData component = new ComponentData("Component, \"quoted\"", "1.0", null, Set.of(), Set.of("Line 1\r\nLine 2"));
+        StringWriter output = new StringWriter();
+
+        underTest.write(Stream.of(component), output);
+
+        assertThat(output).hasToString(HEADER + "\"Component, \"\"quoted\"\"\",1.0,,,,\"Line 1\r\nLine 2\"\r\n");
+    }
+
+}
@@ -31,16 +31,19 @@ import com.github.tomakehurst.wiremock.junit5.WireMockTest;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.io.Resources;
 import java.io.IOException;
+import java.io.StringWriter;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 import org.apache.commons.io.FileUtils;
 import org.junit.jupiter.api.Nested;
@@ -48,9 +51,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.notFound;
 import static com.github.tomakehurst.wiremock.client.WireMock.ok;
 import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -124,6 +130,21 @@ class FreemarkerOutputterTest {
             return new ComponentData(name, version, url, licenses, attributionNotices);
         }
 
+        @Test
+        void streamingOutputEqualsListOutput() throws IOException {
+            List<ComponentData> components = List.of(
+                    createComponent("ComponentA", "1.0.0", "https://component-a.com", createLicenses("LIC-A", "https://license-a.com"),
+                            Collections.singleton("Copyright (c) 2020")),
+                    createComponent("ComponentB", "2.0.0", null, createLicenses("LIC-B", null), Collections.emptySet()));
+            StringWriter listOutput = new StringWriter();
+            StringWriter streamingOutput = new StringWriter();
+
+            underTest.output(components, listOutput, null);
+            underTest.outputStreaming(components.stream(), streamingOutput, null);
+
+            assertThat(streamingOutput).hasToString(listOutput.toString());
+        }
+
         private Set<License> createLicenses(String name, String url) {
             return Collections.singleton(License.dynamic(name, url));
         }
@@ -238,5 +259,57 @@ class FreemarkerOutputterTest {
             assertThatThrownBy(() -> output(Collections.emptyList(), output, wiremock.getHttpBaseUrl() + templateRelativeUrl))
                     .isInstanceOf(IOException.class);
         }
+
+        @Test
+        void reuseCachedRemoteTemplate(WireMockRuntimeInfo wiremock) throws IOException {
+            String templateRelativeUrl = "/template";
+            stubFor(get(templateRelativeUrl).willReturn(ok("first")));
+            FreemarkerOutputter outputter = new FreemarkerOutputter(FreemarkerOutputter.DEFAULT_MAX_CACHED_TEMPLATES, Duration.ofMinutes(5));
+
+            String firstOutput = render(outputter, wiremock.getHttpBaseUrl() + templateRelativeUrl);
+            stubFor(get(templateRelativeUrl).willReturn(ok("second")));
+            String secondOutput = render(outputter, wiremock.getHttpBaseUrl() + templateRelativeUrl);
+
+            assertThat(firstOutput).isEqualTo("first");
+            assertThat(secondOutput).isEqualTo("first");
+            verify(1, getRequestedFor(urlEqualTo(templateRelativeUrl)));
+        }
+
+        @Test
+        void reloadRemoteTemplateAfterUpdateDelay(WireMockRuntimeInfo wiremock) throws IOException {
+            String templateRelativeUrl = "/template";
+            stubFor(get(templateRelativeUrl).willReturn(ok("first")));
+            FreemarkerOutputter outputter = new FreemarkerOutputter(FreemarkerOutputter.DEFAULT_MAX_CACHED_TEMPLATES, Duration.ZERO);
+
+            String firstOutput = render(outputter, wiremock.getHttpBaseUrl() + templateRelativeUrl);
+            stubFor(get(templateRelativeUrl).willReturn(ok("second")));
+            String secondOutput = render(outputter, wiremock.getHttpBaseUrl() + templateRelativeUrl);
+
+            assertThat(firstOutput).isEqualTo("first");
+            assertThat(secondOutput).isEqualTo("second");
+        }
+
+        @Test
+        void streamingOutputWithCustomTemplate(WireMockRuntimeInfo wiremock) throws IOException {
+            String templateRelativeUrl = "/template";
+            stubFor(get(templateRelativeUrl).willReturn(ok("${components?size}<#list components as component> ${component.name}</#list>")));
+            StringWriter output = new StringWriter();
+
+            underTest.outputStreaming(Stream.of(new ComponentData("ComponentA", null, null, Set.of(), Set.of())), output,
+                    wiremock.getHttpBaseUrl() + templateRelativeUrl);
+
+            assertThat(output).hasToString("1 ComponentA");
+        }
+
+        @Test
+        void sharedInstance() {
+            assertThat(FreemarkerOutputter.shared()).isSameAs(FreemarkerOutputter.shared());
+        }
+
+        private String render(FreemarkerOutputter outputter, String templateUrl) throws IOException {
+            StringWriter writer = new StringWriter();
+            outputter.output(Collections.emptyList(), writer, templateUrl);
+            return writer.toString();
+        }
     }
 }
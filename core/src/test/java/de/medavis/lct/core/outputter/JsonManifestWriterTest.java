@@ -0,0 +1,81 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.outputter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.medavis.lct.core.license.License;
+import de.medavis.lct.core.list.ComponentData;
+
+class JsonManifestWriterTest {
+
+    private final JsonManifestWriter underTest = new JsonManifestWriter();
+
+    @Test
+    void writeComponents() throws IOException {
+        Set<License> licenses = new LinkedHashSet<>(List.of(License.dynamic("LIC-A", "https://license-a.com"), License.dynamic("LIC-B", null)));
+        ComponentData componentA = new ComponentData("ComponentA", "1.0.0", "https://component-a.com", licenses, Set.of("Copyright (c) 2020"));
+        ComponentData componentB = new ComponentData("ComponentB", null, null, Set.of(), Set.of());
+        StringWriter output = new StringWriter();
+
+        underTest.write(Stream.of(componentA, componentB), output);
+
+        assertThat(new ObjectMapper().readValue(output.toString(), List.class)).containsExactly(
+                Map.of("name", "ComponentA",
+                        "version", "1.0.0",
+                        "url", "https://component-a.com",
+                        "licenses", List.of(Map.of("name", "LIC-A", "url", "https://license-a.com"), nullableMap("name", "LIC-B", "url", null)),
+                        "attributionNotices", List.of("Copyright (c) 2020")),
+                nullableMap("name", "ComponentB",
+                        "version", null,
+                        "url", null,
+                        "licenses", List.of(),
+                        "attributionNotices", List.of()));
+    }
+
+    @Test
+    void writeEmptyArrayWithoutComponents() throws IOException {
+        StringWriter output = new StringWriter();
+
+        underTest.write(Stream.empty(), output);
+
+        assertThat(output).hasToString("[]");
+    }
+
+    private static Map<String, Object> nullableMap(Object... keysAndValues) {
+        Map<String, Object> result = new HashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            result.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return result;
+    }
+
+}
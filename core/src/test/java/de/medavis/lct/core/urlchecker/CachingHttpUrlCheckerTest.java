@@ -0,0 +1,88 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.urlchecker;
+
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingHttpUrlCheckerTest {
+
+    private static final String URL = "https://github.com/medavis-gmbh/LicenseComplianceTool";
+    private static final String OTHER_URL = "https://www.medavis.com";
+
+    @Mock
+    private HttpUrlChecker delegate;
+
+    @Test
+    void shouldShareCheckInProgress() {
+        CompletableFuture<Boolean> pending = new CompletableFuture<>();
+        when(delegate.isUrlAvailableAsync(URL)).thenReturn(pending);
+        CachingHttpUrlChecker underTest = new CachingHttpUrlChecker(delegate);
+
+        CompletableFuture<Boolean> first = underTest.isUrlAvailableAsync(URL);
+        CompletableFuture<Boolean> second = underTest.isUrlAvailableAsync(URL);
+        pending.complete(true);
+
+        assertThat(first).isCompletedWithValue(true);
+        assertThat(second).isCompletedWithValue(true);
+        verify(delegate, times(1)).isUrlAvailableAsync(URL);
+    }
+
+    @Test
+    void shouldCacheResultPerUrl() {
+        when(delegate.isUrlAvailableAsync(URL)).thenReturn(CompletableFuture.completedFuture(true));
+        when(delegate.isUrlAvailableAsync(OTHER_URL)).thenReturn(CompletableFuture.completedFuture(false));
+        CachingHttpUrlChecker underTest = new CachingHttpUrlChecker(delegate);
+
+        assertThat(underTest.isUrlAvailable(URL)).isTrue();
+        assertThat(underTest.isUrlAvailable(OTHER_URL)).isFalse();
+        assertThat(underTest.isUrlAvailable(URL)).isTrue();
+        assertThat(underTest.isUrlAvailable(OTHER_URL)).isFalse();
+
+        verify(delegate, times(1)).isUrlAvailableAsync(URL);
+        verify(delegate, times(1)).isUrlAvailableAsync(OTHER_URL);
+    }
+
+    @Test
+    void shouldForgetCompletedResultsIfOnlyPendingChecksAreShared() {
+        CompletableFuture<Boolean> pending = new CompletableFuture<>();
+        when(delegate.isUrlAvailableAsync(URL)).thenReturn(pending).thenReturn(CompletableFuture.completedFuture(false));
+        CachingHttpUrlChecker underTest = CachingHttpUrlChecker.pendingOnly(delegate);
+
+        CompletableFuture<Boolean> first = underTest.isUrlAvailableAsync(URL);
+        CompletableFuture<Boolean> second = underTest.isUrlAvailableAsync(URL);
+        pending.complete(true);
+
+        assertThat(first).isCompletedWithValue(true);
+        assertThat(second).isCompletedWithValue(true);
+        assertThat(underTest.isUrlAvailable(URL)).isFalse();
+        verify(delegate, times(2)).isUrlAvailableAsync(URL);
+    }
+
+}
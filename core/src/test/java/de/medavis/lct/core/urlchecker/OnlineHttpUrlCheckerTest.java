@@ -0,0 +1,95 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.urlchecker;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.exactly;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.head;
+import static com.github.tomakehurst.wiremock.client.WireMock.headRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.notFound;
+import static com.github.tomakehurst.wiremock.client.WireMock.ok;
+import static com.github.tomakehurst.wiremock.client.WireMock.status;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@WireMockTest
+class OnlineHttpUrlCheckerTest {
+
+    private static final String PROJECT_PATH = "/project";
+    private static final String OTHER_PROJECT_PATH = "/other-project";
+
+    private final OnlineHttpUrlChecker underTest = new OnlineHttpUrlChecker();
+    private String baseUrl;
+
+    @BeforeEach
+    void beforeEach(WireMockRuntimeInfo wiremock) {
+        baseUrl = wiremock.getHttpBaseUrl();
+    }
+
+    @Test
+    void shouldProbeWithHeadRequest() {
+        stubFor(head(urlEqualTo(PROJECT_PATH)).willReturn(ok()));
+
+        assertThat(underTest.isUrlAvailable(baseUrl + PROJECT_PATH)).isTrue();
+
+        verify(exactly(0), getRequestedFor(urlEqualTo(PROJECT_PATH)));
+    }
+
+    @Test
+    void shouldReportUnavailableUrlFromHeadRequest() {
+        stubFor(head(urlEqualTo(PROJECT_PATH)).willReturn(notFound()));
+
+        assertThat(underTest.getStatusCodeAsync(baseUrl + PROJECT_PATH).join()).isEqualTo(404);
+        assertThat(underTest.isUrlAvailable(baseUrl + PROJECT_PATH)).isFalse();
+
+        verify(exactly(0), getRequestedFor(urlEqualTo(PROJECT_PATH)));
+    }
+
+    @Test
+    void shouldFallBackToRangedGetAndRememberHost() {
+        stubFor(head(urlEqualTo(PROJECT_PATH)).willReturn(status(405)));
+        stubFor(get(urlEqualTo(PROJECT_PATH)).willReturn(aResponse().withStatus(206).withBody("<")));
+        stubFor(head(urlEqualTo(OTHER_PROJECT_PATH)).willReturn(status(405)));
+        stubFor(get(urlEqualTo(OTHER_PROJECT_PATH)).willReturn(ok()));
+
+        assertThat(underTest.isUrlAvailable(baseUrl + PROJECT_PATH)).isTrue();
+        assertThat(underTest.isUrlAvailable(baseUrl + OTHER_PROJECT_PATH)).isTrue();
+
+        verify(getRequestedFor(urlEqualTo(PROJECT_PATH)).withHeader("Range", equalTo("bytes=0-0")));
+        verify(exactly(0), headRequestedFor(urlEqualTo(OTHER_PROJECT_PATH)));
+    }
+
+    @Test
+    void shouldReportInvalidUrlAsUnavailable() {
+        assertThat(underTest.getStatusCodeAsync("not a url")).isCompletedWithValue(HttpUrlChecker.NO_RESPONSE);
+        assertThat(underTest.isUrlAvailable("ftp://example.com")).isFalse();
+    }
+
+}
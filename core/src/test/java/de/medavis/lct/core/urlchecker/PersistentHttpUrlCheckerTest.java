@@ -0,0 +1,135 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.core.urlchecker;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PersistentHttpUrlCheckerTest {
+
+    private static final String URL = "https://github.com/medavis-gmbh/LicenseComplianceTool";
+    private static final String OTHER_URL = "https://www.medavis.com";
+    private static final Duration AVAILABLE_TTL = Duration.ofDays(7);
+    private static final Duration UNAVAILABLE_TTL = Duration.ofDays(1);
+    private static final Instant NOW = Instant.parse("2024-05-01T10:00:00Z");
+
+    @Mock
+    private HttpUrlChecker delegate;
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void shouldReuseResultsOfPreviousRun() throws IOException {
+        Path cacheFile = tempDir.resolve("url-cache.json");
+        when(delegate.getStatusCodeAsync(URL)).thenReturn(CompletableFuture.completedFuture(200));
+        when(delegate.getStatusCodeAsync(OTHER_URL)).thenReturn(CompletableFuture.completedFuture(404));
+        try (var firstRun = createChecker(cacheFile, NOW)) {
+            assertThat(firstRun.isUrlAvailable(URL)).isTrue();
+            assertThat(firstRun.isUrlAvailable(OTHER_URL)).isFalse();
+        }
+
+        HttpUrlChecker offline = createOfflineChecker();
+        try (var secondRun = new PersistentHttpUrlChecker(offline, cacheFile, AVAILABLE_TTL, UNAVAILABLE_TTL, clockAt(NOW.plus(Duration.ofHours(1))))) {
+            assertThat(secondRun.isUrlAvailable(URL)).isTrue();
+            assertThat(secondRun.getStatusCodeAsync(OTHER_URL)).isCompletedWithValue(404);
+        }
+        verifyNoInteractions(offline);
+    }
+
+    @Test
+    void shouldCheckAgainWhenResultIsExpired() throws IOException {
+        Path cacheFile = tempDir.resolve("url-cache.json");
+        when(delegate.getStatusCodeAsync(URL)).thenReturn(CompletableFuture.completedFuture(200));
+        when(delegate.getStatusCodeAsync(OTHER_URL)).thenReturn(CompletableFuture.completedFuture(404));
+        try (var firstRun = createChecker(cacheFile, NOW)) {
+            firstRun.isUrlAvailable(URL);
+            firstRun.isUrlAvailable(OTHER_URL);
+        }
+
+        try (var secondRun = createChecker(cacheFile, NOW.plus(Duration.ofDays(2)))) {
+            assertThat(secondRun.isUrlAvailable(URL)).isTrue();
+            assertThat(secondRun.isUrlAvailable(OTHER_URL)).isFalse();
+        }
+        verify(delegate, times(1)).getStatusCodeAsync(URL);
+        verify(delegate, times(2)).getStatusCodeAsync(OTHER_URL);
+    }
+
+    @Test
+    void shouldCheckAgainWhenThereWasNoResponse() throws IOException {
+        Path cacheFile = tempDir.resolve("url-cache.json");
+        when(delegate.getStatusCodeAsync(URL))
+                .thenReturn(CompletableFuture.completedFuture(HttpUrlChecker.NO_RESPONSE))
+                .thenReturn(CompletableFuture.completedFuture(200));
+        try (var firstRun = createChecker(cacheFile, NOW)) {
+            assertThat(firstRun.isUrlAvailable(URL)).isFalse();
+        }
+
+        try (var secondRun = createChecker(cacheFile, NOW.plus(Duration.ofMinutes(1)))) {
+            assertThat(secondRun.isUrlAvailable(URL)).isTrue();
+        }
+        verify(delegate, times(2)).getStatusCodeAsync(URL);
+    }
+
+    @Test
+    void shouldIgnoreUnreadableCacheFile() throws IOException {
+        Path cacheFile = tempDir.resolve("url-cache.json");
+        Files.writeString(cacheFile, "{ not json");
+        when(delegate.getStatusCodeAsync(URL)).thenReturn(CompletableFuture.completedFuture(200));
+
+        try (var underTest = createChecker(cacheFile, NOW)) {
+            assertThat(underTest.isUrlAvailable(URL)).isTrue();
+        }
+        try (var nextRun = new PersistentHttpUrlChecker(createOfflineChecker(), cacheFile, AVAILABLE_TTL, UNAVAILABLE_TTL, clockAt(NOW))) {
+            assertThat(nextRun.isUrlAvailable(URL)).isTrue();
+        }
+    }
+
+    private PersistentHttpUrlChecker createChecker(Path cacheFile, Instant now) {
+        return new PersistentHttpUrlChecker(delegate, cacheFile, AVAILABLE_TTL, UNAVAILABLE_TTL, clockAt(now));
+    }
+
+    private static HttpUrlChecker createOfflineChecker() {
+        return mock(HttpUrlChecker.class);
+    }
+
+    private static Clock clockAt(Instant instant) {
+        return Clock.fixed(instant, ZoneOffset.UTC);
+    }
+
+}
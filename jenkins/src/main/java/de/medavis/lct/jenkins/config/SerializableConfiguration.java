@@ -0,0 +1,64 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.jenkins.config;
+
+import java.io.Serializable;
+import java.net.URL;
+import java.util.Optional;
+
+import de.medavis.lct.core.Configuration;
+
+/**
+ * Copy of a {@link Configuration} which can be sent to an agent. Only the URLs are transferred, the configuration sources are loaded on the agent.
+ */
+public final class SerializableConfiguration implements Configuration, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final URL componentMetadataUrl;
+    private final URL licensesUrl;
+    private final URL licenseMappingsUrl;
+
+    private SerializableConfiguration(URL componentMetadataUrl, URL licensesUrl, URL licenseMappingsUrl) {
+        this.componentMetadataUrl = componentMetadataUrl;
+        this.licensesUrl = licensesUrl;
+        this.licenseMappingsUrl = licenseMappingsUrl;
+    }
+
+    public static SerializableConfiguration of(Configuration configuration) {
+        return new SerializableConfiguration(configuration.getComponentMetadataUrl().orElse(null), configuration.getLicensesUrl().orElse(null),
+                configuration.getLicenseMappingsUrl().orElse(null));
+    }
+
+    @Override
+    public Optional<URL> getComponentMetadataUrl() {
+        return Optional.ofNullable(componentMetadataUrl);
+    }
+
+    @Override
+    public Optional<URL> getLicensesUrl() {
+        return Optional.ofNullable(licensesUrl);
+    }
+
+    @Override
+    public Optional<URL> getLicenseMappingsUrl() {
+        return Optional.ofNullable(licenseMappingsUrl);
+    }
+}
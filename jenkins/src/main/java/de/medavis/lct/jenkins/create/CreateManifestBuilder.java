@@ -33,12 +33,7 @@ import hudson.tasks.BuildStepDescriptor;
 import hudson.tasks.Builder;
 import hudson.util.FormValidation;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStreamWriter;
-import java.io.Writer;
-import java.nio.charset.StandardCharsets;
 import java.util.Collections;
-import java.util.List;
 import java.util.Map;
 import jenkins.tasks.SimpleBuildStep;
 import jenkins.util.BuildListenerAdapter;
@@ -52,8 +47,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import de.medavis.lct.core.Configuration;
-import de.medavis.lct.core.list.ComponentData;
+import de.medavis.lct.core.outputter.OutputFormat;
 import de.medavis.lct.jenkins.config.LCTGlobalConfiguration;
+import de.medavis.lct.jenkins.config.SerializableConfiguration;
 import de.medavis.lct.jenkins.util.JenkinsLogger;
 import de.medavis.lct.jenkins.util.UrlValidator;
 
@@ -69,6 +65,7 @@ public class CreateManifestBuilder extends Builder implements SimpleBuildStep {
     private String templateUrl;
     private boolean ignoreUnavailableUrl;
     private String configurationProfile;
+    private OutputFormat format = OutputFormat.TEMPLATE;
 
     @DataBoundConstructor
     public CreateManifestBuilder(@NonNull String inputPath, @NonNull String outputPath) {
@@ -96,6 +93,11 @@ public class CreateManifestBuilder extends Builder implements SimpleBuildStep {
         return configurationProfile;
     }
 
+    public OutputFormat getFormat() {
+        // Builders configured before the format was introduced have no format
+        return format != null ? format : OutputFormat.TEMPLATE;
+    }
+
     @DataBoundSetter
     public void setTemplateUrl(String templateUrl) {
         this.templateUrl = templateUrl;
@@ -111,23 +113,23 @@ public class CreateManifestBuilder extends Builder implements SimpleBuildStep {
         this.configurationProfile = configurationProfile;
     }
 
+    @DataBoundSetter
+    public void setFormat(final OutputFormat format) {
+        this.format = format;
+    }
+
     @Override
     public void perform(@NonNull Run<?, ?> run, @NonNull FilePath workspace, @NonNull EnvVars env, @NonNull Launcher launcher, @NonNull TaskListener listener)
             throws AbortException, InterruptedException {
         final Configuration configuration = LCTGlobalConfiguration.getConfigurationByProfile(configurationProfile);
-        var componentLister = CreateManifestBuilderFactory.getComponentLister(configuration, ignoreUnavailableUrl);
-        var outputter = CreateManifestBuilderFactory.getOutputterFactory();
 
         try {
             final JenkinsLogger logger = new JenkinsLogger(listener);
             logger.info("Writing component manifest from '%s' to '%s'.%n", inputPath, outputPath);
-            try (InputStream bomStream = workspace.child(inputPath).read()) {
-                List<ComponentData> components = componentLister.listComponents(bomStream);
-                try (Writer manifestWriter = new OutputStreamWriter(workspace.child(outputPath).write(), StandardCharsets.UTF_8)) {
-                    outputter.output(components, manifestWriter, templateUrl);
-                }
-                archiveOutput(run, workspace, launcher, listener);
-            }
+            // Parsing and rendering happen on the node of the workspace, the controller only archives the result
+            workspace.act(new CreateManifestCallable(SerializableConfiguration.of(configuration), inputPath, outputPath, templateUrl, ignoreUnavailableUrl,
+                    getFormat(), listener));
+            archiveOutput(run, workspace, launcher, listener);
         } catch (IOException e) {
             log.error("Could not create manifest.", e);
             throw new AbortException("Could not create component manifest: " + e.getMessage());
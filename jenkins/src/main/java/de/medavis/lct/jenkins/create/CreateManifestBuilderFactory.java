@@ -19,8 +19,6 @@
  */
 package de.medavis.lct.jenkins.create;
 
-import java.util.function.BiFunction;
-import java.util.function.Function;
 import java.util.function.Supplier;
 
 import de.medavis.lct.core.license.LicenseLoader;
@@ -29,24 +27,26 @@ import de.medavis.lct.core.Configuration;
 import de.medavis.lct.core.asset.AssetLoader;
 import de.medavis.lct.core.list.ComponentLister;
 import de.medavis.lct.core.metadata.ComponentMetaDataLoader;
+import de.medavis.lct.core.metrics.MetricsSink;
 import de.medavis.lct.core.outputter.FreemarkerOutputter;
 
 // TODO Try to use dependency injection (maybe using ExtensionFinder, GuiceFinder?)
 class CreateManifestBuilderFactory {
 
-    private static BiFunction<Configuration, Boolean, ComponentLister> componentListerFactory = (configuration, ignoreUnavailableUrl) -> new ComponentLister(
-            new AssetLoader(ignoreUnavailableUrl),
+    private static ComponentListerFactory componentListerFactory = (configuration, ignoreUnavailableUrl, metricsSink) -> new ComponentLister(
+            new AssetLoader(ignoreUnavailableUrl, metricsSink),
             new ComponentMetaDataLoader(),
             new LicenseLoader(),
             new LicenseMappingLoader(),
-            configuration);
-    private static Supplier<FreemarkerOutputter> outputterFactory = FreemarkerOutputter::new;
+            configuration,
+            metricsSink);
+    private static Supplier<FreemarkerOutputter> outputterFactory = FreemarkerOutputter::shared;
 
     private CreateManifestBuilderFactory() {
     }
 
-    public static ComponentLister getComponentLister(Configuration configuration, final boolean ignoreUnavailableUrl) {
-        return componentListerFactory.apply(configuration, ignoreUnavailableUrl);
+    public static ComponentLister getComponentLister(Configuration configuration, final boolean ignoreUnavailableUrl, MetricsSink metricsSink) {
+        return componentListerFactory.create(configuration, ignoreUnavailableUrl, metricsSink);
     }
 
     public static FreemarkerOutputter getOutputterFactory() {
@@ -56,7 +56,7 @@ class CreateManifestBuilderFactory {
     /**
      * Should only be used for tests
      */
-    static void setComponentListerFactory(BiFunction<Configuration, Boolean, ComponentLister> componentListerFactory) {
+    static void setComponentListerFactory(ComponentListerFactory componentListerFactory) {
         CreateManifestBuilderFactory.componentListerFactory = componentListerFactory;
     }
 
@@ -67,4 +67,10 @@ class CreateManifestBuilderFactory {
         CreateManifestBuilderFactory.outputterFactory = outputterFactory;
     }
 
+    @FunctionalInterface
+    interface ComponentListerFactory {
+
+        ComponentLister create(Configuration configuration, boolean ignoreUnavailableUrl, MetricsSink metricsSink);
+    }
+
 }
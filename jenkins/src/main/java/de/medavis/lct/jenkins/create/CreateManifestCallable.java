@@ -0,0 +1,86 @@
+/*-
+ * #%L
+ * License Compliance Tool
+ * %%
+ * Copyright (C) 2022 medavis GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package de.medavis.lct.jenkins.create;
+
+import hudson.FilePath;
+import hudson.model.TaskListener;
+import hudson.remoting.VirtualChannel;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+import jenkins.MasterToSlaveFileCallable;
+
+import de.medavis.lct.core.list.ComponentData;
+import de.medavis.lct.core.list.ComponentLister;
+import de.medavis.lct.core.metrics.RecordingMetricsSink;
+import de.medavis.lct.core.outputter.FreemarkerOutputter;
+import de.medavis.lct.core.outputter.OutputFormat;
+import de.medavis.lct.jenkins.config.SerializableConfiguration;
+import de.medavis.lct.jenkins.util.JenkinsLogger;
+
+/**
+ * Creates the manifest on the node of the workspace, so neither the BOM nor the manifest has to be transferred to the controller. Only the
+ * configuration and the options are sent to the node, the configuration sources and templates are loaded there.
+ */
+class CreateManifestCallable extends MasterToSlaveFileCallable<Void> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final SerializableConfiguration configuration;
+    private final String inputPath;
+    private final String outputPath;
+    private final String templateUrl;
+    private final boolean ignoreUnavailableUrl;
+    private final OutputFormat format;
+    private final TaskListener listener;
+
+    CreateManifestCallable(SerializableConfiguration configuration, String inputPath, String outputPath, String templateUrl, boolean ignoreUnavailableUrl,
+            OutputFormat format, TaskListener listener) {
+        this.configuration = configuration;
+        this.inputPath = inputPath;
+        this.outputPath = outputPath;
+        this.templateUrl = templateUrl;
+        this.ignoreUnavailableUrl = ignoreUnavailableUrl;
+        this.format = format;
+        this.listener = listener;
+    }
+
+    @Override
+    public Void invoke(File workspaceDirectory, VirtualChannel channel) throws IOException, InterruptedException {
+        FilePath workspace = new FilePath(workspaceDirectory);
+        var metricsSink = new RecordingMetricsSink();
+        ComponentLister componentLister = CreateManifestBuilderFactory.getComponentLister(configuration, ignoreUnavailableUrl, metricsSink);
+        FreemarkerOutputter outputter = CreateManifestBuilderFactory.getOutputterFactory().withMetricsSink(metricsSink);
+
+        try (InputStream bomStream = workspace.child(inputPath).read()) {
+            // Read the BOM and load the configuration before opening the manifest, so that failures do not leave an empty manifest behind
+            Stream<ComponentData> components = componentLister.streamComponents(bomStream);
+            try (Writer manifestWriter = new OutputStreamWriter(workspace.child(outputPath).write(), StandardCharsets.UTF_8)) {
+                format.write(components, manifestWriter, outputter, templateUrl);
+            }
+        }
+        metricsSink.printSummary(new JenkinsLogger(listener));
+        return null;
+    }
+}
@@ -20,24 +20,47 @@
 package de.medavis.lct.jenkins.download;
 
 import hudson.FilePath;
+import hudson.remoting.VirtualChannel;
+import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.Optional;
-import java.util.stream.Stream;
-import org.apache.commons.io.FilenameUtils;
+import java.util.Properties;
+import jenkins.MasterToSlaveFileCallable;
 
+import de.medavis.lct.core.downloader.CacheValidators;
 import de.medavis.lct.core.downloader.LicenseFileHandler;
+import de.medavis.lct.core.downloader.LicenseFileIndex;
+import de.medavis.lct.core.downloader.SharedLicenseCache;
 
 class JenkinsLicenseFileHandler implements LicenseFileHandler {
 
     private static final String CACHE_PATH = ".lct/cache/licenses";
+    private static final String VALIDATORS_PATH = ".lct/cache/validators.properties";
 
     private final FilePath workspace;
     private final String outputPath;
+    private final String sharedCachePath;
+    private LicenseFileIndex<FilePath> cacheIndex;
+    private Properties validators;
 
     public JenkinsLicenseFileHandler(FilePath workspace, String outputPath) {
+        this(workspace, outputPath, null);
+    }
+
+    /**
+     * @param sharedCachePath Path of a {@link SharedLicenseCache} on the node of the workspace, relative to the workspace or absolute. Can be
+     *                        <code>null</code>.
+     */
+    public JenkinsLicenseFileHandler(FilePath workspace, String outputPath, String sharedCachePath) {
         this.workspace = workspace;
         this.outputPath = outputPath;
+        this.sharedCachePath = sharedCachePath;
     }
 
     @Override
@@ -45,43 +68,150 @@ class JenkinsLicenseFileHandler implements LicenseFileHandler {
         return getCachedFile(license).isPresent();
     }
 
+    @Override
+    public boolean isCached(String license, String url) throws IOException {
+        return isCached(license) || (sharedCachePath != null && actOnWorkspace(new ContainedInSharedCache(sharedCachePath, license, url)));
+    }
+
     @Override
     public void save(String license, String extension, byte[] content) throws IOException {
-        writeFile(outputPath, license, extension, content);
-        writeFile(CACHE_PATH, license, extension, content);
+        save(license, extension, new ByteArrayInputStream(content));
     }
 
-    private void writeFile(String targetPath, String license, String extension, byte[] content) throws IOException {
-        final FilePath target = workspace.child(targetPath);
-        try (OutputStream outputStream = target.child(license + extension).write()) {
-            outputStream.write(content);
+    @Override
+    public void save(String license, String extension, InputStream content) throws IOException {
+        final String fileName = license + extension;
+        final FilePath outputFile = workspace.child(outputPath).child(fileName);
+        try {
+            if (sharedCachePath != null && outputFile.exists()) {
+                // The existing file might be a hard link into the shared cache, which must not be overwritten
+                outputFile.delete();
+            }
+            outputFile.copyFrom(content);
+            workspace.act(new CopyInWorkspace(outputPath + "/" + fileName, CACHE_PATH + "/" + fileName));
+            getCacheIndex().put(license, workspace.child(CACHE_PATH).child(fileName));
         } catch (InterruptedException e) {
             throw rethrowAsIOException(e);
         }
     }
 
+    @Override
+    public void save(String license, String url, String extension, InputStream content) throws IOException {
+        save(license, extension, content);
+        if (sharedCachePath != null) {
+            actOnWorkspace(new StoreInSharedCache(sharedCachePath, license, url, extension, outputPath));
+        }
+    }
+
+    @Override
+    public void copyFromCache(String license, String url) throws IOException {
+        if (sharedCachePath == null || !actOnWorkspace(new MaterializeFromSharedCache(sharedCachePath, license, url, outputPath))) {
+            copyFromCache(license);
+        }
+    }
+
     @Override
     public void copyFromCache(String license) throws IOException {
         try {
             Optional<FilePath> cachedFile = getCachedFile(license);
             if (cachedFile.isPresent()) {
-                cachedFile.get().copyTo(workspace.child(outputPath).child(cachedFile.get().getName()));
+                String fileName = cachedFile.get().getName();
+                workspace.act(new CopyInWorkspace(CACHE_PATH + "/" + fileName, outputPath + "/" + fileName));
             }
         } catch (InterruptedException e) {
             throw rethrowAsIOException(e);
         }
     }
 
+    /**
+     * Validators are kept in the shared cache if there is one, so that they are available to other workspaces as well. Otherwise, they are kept in a file
+     * in the workspace.
+     */
+    @Override
+    public synchronized Optional<CacheValidators> getCacheValidators(String license, String url) throws IOException {
+        if (sharedCachePath != null) {
+            String[] cacheValidators = actOnWorkspace(new ValidatorsFromSharedCache(sharedCachePath, license, url));
+            return cacheValidators != null ? Optional.of(new CacheValidators(cacheValidators[0], cacheValidators[1])) : Optional.empty();
+        }
+        Properties properties = getValidators();
+        if (!url.equals(properties.getProperty(license + ".url"))) {
+            return Optional.empty();
+        }
+        CacheValidators cacheValidators = new CacheValidators(properties.getProperty(license + ".etag"), properties.getProperty(license + ".lastModified"));
+        return cacheValidators.isEmpty() ? Optional.empty() : Optional.of(cacheValidators);
+    }
+
+    @Override
+    public synchronized void saveCacheValidators(String license, String url, CacheValidators cacheValidators) throws IOException {
+        if (sharedCachePath != null) {
+            actOnWorkspace(new StoreValidatorsInSharedCache(sharedCachePath, license, url, cacheValidators));
+            return;
+        }
+        Properties properties = getValidators();
+        properties.setProperty(license + ".url", url);
+        setOrRemove(properties, license + ".etag", cacheValidators.getEntityTag());
+        setOrRemove(properties, license + ".lastModified", cacheValidators.getLastModified());
+        try (OutputStream outputStream = workspace.child(VALIDATORS_PATH).write()) {
+            properties.store(outputStream, null);
+        } catch (InterruptedException e) {
+            throw rethrowAsIOException(e);
+        }
+    }
+
+    private static void setOrRemove(Properties properties, String key, String value) {
+        if (value != null) {
+            properties.setProperty(key, value);
+        } else {
+            properties.remove(key);
+        }
+    }
+
+    private Properties getValidators() throws IOException {
+        if (validators == null) {
+            Properties properties = new Properties();
+            FilePath validatorsFile = workspace.child(VALIDATORS_PATH);
+            try {
+                if (validatorsFile.exists()) {
+                    try (InputStream inputStream = validatorsFile.read()) {
+                        properties.load(inputStream);
+                    }
+                }
+            } catch (InterruptedException e) {
+                throw rethrowAsIOException(e);
+            }
+            validators = properties;
+        }
+        return validators;
+    }
+
     private Optional<FilePath> getCachedFile(String license) throws IOException {
-        try {
-            if (!workspace.child(CACHE_PATH).exists()) {
-                return Optional.empty();
+        return getCacheIndex().get(license);
+    }
+
+    /**
+     * Lists the cache directory once, so that looking up a license does not need a round trip to the agent.
+     */
+    private synchronized LicenseFileIndex<FilePath> getCacheIndex() throws IOException {
+        if (cacheIndex == null) {
+            try {
+                LicenseFileIndex<FilePath> index = new LicenseFileIndex<>();
+                FilePath cacheDirectory = workspace.child(CACHE_PATH);
+                if (cacheDirectory.exists()) {
+                    for (FilePath file : cacheDirectory.list("*")) {
+                        index.addExisting(file.getName(), file);
+                    }
+                }
+                cacheIndex = index;
+            } catch (InterruptedException e) {
+                throw rethrowAsIOException(e);
             }
+        }
+        return cacheIndex;
+    }
 
-            FilePath[] matches = workspace.child(CACHE_PATH).list(license + "*");
-            return Stream.of(matches)
-                    .filter(file -> FilenameUtils.removeExtension(file.getName()).equalsIgnoreCase(license))
-                    .findFirst();
+    private <T> T actOnWorkspace(SharedCacheCallable<T> callable) throws IOException {
+        try {
+            return workspace.act(callable);
         } catch (InterruptedException e) {
             throw rethrowAsIOException(e);
         }
@@ -91,4 +221,143 @@ class JenkinsLicenseFileHandler implements LicenseFileHandler {
         Thread.currentThread().interrupt();
         return new IOException("Thread has been interrupted.", e);
     }
+
+    /**
+     * Copies a file on the node of the workspace. {@link FilePath#copyTo(FilePath)} would transfer the file to the controller and back.
+     */
+    private static final class CopyInWorkspace extends MasterToSlaveFileCallable<Void> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String source;
+        private final String target;
+
+        CopyInWorkspace(String source, String target) {
+            this.source = source;
+            this.target = target;
+        }
+
+        @Override
+        public Void invoke(File workspace, VirtualChannel channel) throws IOException {
+            Path targetFile = workspace.toPath().resolve(target);
+            Files.createDirectories(targetFile.getParent());
+            Files.copy(workspace.toPath().resolve(source), targetFile, StandardCopyOption.REPLACE_EXISTING);
+            return null;
+        }
+    }
+
+    /**
+     * Accesses the shared cache on the node of the workspace, so that cached files do not have to be transferred over the remoting channel.
+     */
+    private abstract static class SharedCacheCallable<T> extends MasterToSlaveFileCallable<T> {
+
+        private static final long serialVersionUID = 1L;
+
+        protected final String sharedCachePath;
+        protected final String license;
+        protected final String url;
+
+        SharedCacheCallable(String sharedCachePath, String license, String url) {
+            this.sharedCachePath = sharedCachePath;
+            this.license = license;
+            this.url = url;
+        }
+
+        @Override
+        public T invoke(File workspace, VirtualChannel channel) throws IOException {
+            return invoke(workspace.toPath(), new SharedLicenseCache(workspace.toPath().resolve(sharedCachePath)));
+        }
+
+        abstract T invoke(Path workspace, SharedLicenseCache sharedCache) throws IOException;
+    }
+
+    private static final class ContainedInSharedCache extends SharedCacheCallable<Boolean> {
+
+        private static final long serialVersionUID = 1L;
+
+        ContainedInSharedCache(String sharedCachePath, String license, String url) {
+            super(sharedCachePath, license, url);
+        }
+
+        @Override
+        Boolean invoke(Path workspace, SharedLicenseCache sharedCache) throws IOException {
+            return sharedCache.contains(license, url);
+        }
+    }
+
+    private static final class MaterializeFromSharedCache extends SharedCacheCallable<Boolean> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String outputPath;
+
+        MaterializeFromSharedCache(String sharedCachePath, String license, String url, String outputPath) {
+            super(sharedCachePath, license, url);
+            this.outputPath = outputPath;
+        }
+
+        @Override
+        Boolean invoke(Path workspace, SharedLicenseCache sharedCache) throws IOException {
+            return sharedCache.materialize(license, url, workspace.resolve(outputPath)).isPresent();
+        }
+    }
+
+    private static final class StoreInSharedCache extends SharedCacheCallable<Boolean> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String extension;
+        private final String outputPath;
+
+        StoreInSharedCache(String sharedCachePath, String license, String url, String extension, String outputPath) {
+            super(sharedCachePath, license, url);
+            this.extension = extension;
+            this.outputPath = outputPath;
+        }
+
+        @Override
+        Boolean invoke(Path workspace, SharedLicenseCache sharedCache) throws IOException {
+            sharedCache.store(license, url, extension, workspace.resolve(outputPath).resolve(license + extension));
+            return true;
+        }
+    }
+
+    /**
+     * Returns entity tag and last modified date, or <code>null</code> if there are no validators. {@link CacheValidators} cannot be sent over the channel.
+     */
+    private static final class ValidatorsFromSharedCache extends SharedCacheCallable<String[]> {
+
+        private static final long serialVersionUID = 1L;
+
+        ValidatorsFromSharedCache(String sharedCachePath, String license, String url) {
+            super(sharedCachePath, license, url);
+        }
+
+        @Override
+        String[] invoke(Path workspace, SharedLicenseCache sharedCache) throws IOException {
+            return sharedCache.getValidators(license, url)
+                    .map(validators -> new String[]{validators.getEntityTag(), validators.getLastModified()})
+                    .orElse(null);
+        }
+    }
+
+    private static final class StoreValidatorsInSharedCache extends SharedCacheCallable<Boolean> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String entityTag;
+        private final String lastModified;
+
+        StoreValidatorsInSharedCache(String sharedCachePath, String license, String url, CacheValidators validators) {
+            super(sharedCachePath, license, url);
+            this.entityTag = validators.getEntityTag();
+            this.lastModified = validators.getLastModified();
+        }
+
+        @Override
+        Boolean invoke(Path workspace, SharedLicenseCache sharedCache) throws IOException {
+            sharedCache.storeValidators(license, url, new CacheValidators(entityTag, lastModified));
+            return true;
+        }
+    }
 }
@@ -40,6 +40,8 @@ import org.kohsuke.stapler.DataBoundSetter;
 import org.kohsuke.stapler.QueryParameter;
 import org.kohsuke.stapler.verb.POST;
 
+import de.medavis.lct.core.downloader.LicensesDownloader;
+import de.medavis.lct.core.metrics.RecordingMetricsSink;
 import de.medavis.lct.jenkins.config.LCTGlobalConfiguration;
 import de.medavis.lct.jenkins.util.JenkinsLogger;
 
@@ -49,6 +51,9 @@ public class LicenseDownloadBuilder extends Builder implements SimpleBuildStep {
     private final String outputPath;
     private boolean failOnDynamicLicense;
     private String configurationProfile;
+    private int parallelDownloads = LicensesDownloader.DEFAULT_PARALLEL_DOWNLOADS;
+    private String sharedCachePath;
+    private boolean revalidateCache;
 
     @DataBoundConstructor
     public LicenseDownloadBuilder(@NonNull String inputPath, @NonNull String outputPath) {
@@ -72,6 +77,19 @@ public class LicenseDownloadBuilder extends Builder implements SimpleBuildStep {
         return configurationProfile;
     }
 
+    public int getParallelDownloads() {
+        // Jobs configured before this option existed are deserialized with 0
+        return parallelDownloads > 0 ? parallelDownloads : LicensesDownloader.DEFAULT_PARALLEL_DOWNLOADS;
+    }
+
+    public String getSharedCachePath() {
+        return sharedCachePath;
+    }
+
+    public boolean isRevalidateCache() {
+        return revalidateCache;
+    }
+
     @DataBoundSetter
     public void setFailOnDynamicLicense(boolean failOnDynamicLicense) {
         this.failOnDynamicLicense = failOnDynamicLicense;
@@ -82,15 +100,35 @@ public class LicenseDownloadBuilder extends Builder implements SimpleBuildStep {
         this.configurationProfile = configurationProfile;
     }
 
+    @DataBoundSetter
+    public void setParallelDownloads(int parallelDownloads) {
+        this.parallelDownloads = parallelDownloads;
+    }
+
+    @DataBoundSetter
+    public void setSharedCachePath(String sharedCachePath) {
+        this.sharedCachePath = Util.fixEmptyAndTrim(sharedCachePath);
+    }
+
+    @DataBoundSetter
+    public void setRevalidateCache(boolean revalidateCache) {
+        this.revalidateCache = revalidateCache;
+    }
+
     @Override
     public void perform(@NonNull Run<?, ?> run, @NonNull FilePath workspace, @NonNull EnvVars env, @NonNull Launcher launcher, @NonNull TaskListener listener)
             throws AbortException, InterruptedException {
-         var licenseDownloader = LicenseDownloadBuilderFactory.getLicensesDownloader(LCTGlobalConfiguration.getConfigurationByProfile(configurationProfile));
+        var metricsSink = new RecordingMetricsSink();
+        var licenseDownloader = LicenseDownloadBuilderFactory.getLicensesDownloader(LCTGlobalConfiguration.getConfigurationByProfile(configurationProfile),
+                revalidateCache, metricsSink);
 
         try {
             final JenkinsLogger logger = new JenkinsLogger(listener);
             logger.info("Downloading licenses from components in %s to %s.%n", inputPath, outputPath);
-            licenseDownloader.download(logger, workspace.child(inputPath).read(), new JenkinsLicenseFileHandler(workspace, outputPath), failOnDynamicLicense);
+            licenseDownloader.download(logger, workspace.child(inputPath).read(), new JenkinsLicenseFileHandler(workspace, outputPath, sharedCachePath),
+                    failOnDynamicLicense,
+                    getParallelDownloads());
+            metricsSink.printSummary(logger);
         } catch (IOException e) {
             throw new AbortException("Could not download licenses: " + e.getMessage());
         }
@@ -129,5 +167,10 @@ public class LicenseDownloadBuilder extends Builder implements SimpleBuildStep {
             return FormValidation.validateRequired(value);
         }
 
+        @POST
+        public FormValidation doCheckParallelDownloads(@QueryParameter String value) {
+            return FormValidation.validatePositiveInteger(value);
+        }
+
     }
 }
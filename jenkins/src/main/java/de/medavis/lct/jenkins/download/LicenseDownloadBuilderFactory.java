@@ -19,8 +19,6 @@
  */
 package de.medavis.lct.jenkins.download;
 
-import java.util.function.Function;
-
 import de.medavis.lct.core.Configuration;
 import de.medavis.lct.core.asset.AssetLoader;
 import de.medavis.lct.core.downloader.LicenseFileDownloader;
@@ -29,32 +27,42 @@ import de.medavis.lct.core.license.LicenseLoader;
 import de.medavis.lct.core.license.LicenseMappingLoader;
 import de.medavis.lct.core.list.ComponentLister;
 import de.medavis.lct.core.metadata.ComponentMetaDataLoader;
+import de.medavis.lct.core.metrics.MetricsSink;
 
 // TODO Try to use dependency injection (maybe using ExtensionFinder, GuiceFinder?)
 class LicenseDownloadBuilderFactory {
 
-    private static Function<Configuration, LicensesDownloader> licensesDownloaderFactory = configuration -> new LicensesDownloader(
+    private static LicensesDownloaderFactory licensesDownloaderFactory = (configuration, revalidateCache, metricsSink) -> new LicensesDownloader(
             new ComponentLister(
-                    new AssetLoader(),
+                    new AssetLoader(false, metricsSink),
                     new ComponentMetaDataLoader(),
                     new LicenseLoader(),
                     new LicenseMappingLoader(),
-                    configuration),
-            new LicenseFileDownloader()
+                    configuration,
+                    metricsSink),
+            new LicenseFileDownloader(revalidateCache),
+            LicensesDownloader.DEFAULT_MAX_DOWNLOADS_PER_HOST,
+            metricsSink
     );
 
     private LicenseDownloadBuilderFactory() {
     }
 
-    public static LicensesDownloader getLicensesDownloader(Configuration configuration) {
-        return licensesDownloaderFactory.apply(configuration);
+    public static LicensesDownloader getLicensesDownloader(Configuration configuration, final boolean revalidateCache, MetricsSink metricsSink) {
+        return licensesDownloaderFactory.create(configuration, revalidateCache, metricsSink);
     }
 
     /**
      * Should only be used for tests
      */
-    static void setLicensesDownloaderFactory(Function<Configuration, LicensesDownloader> licensesDownloaderFactory) {
+    static void setLicensesDownloaderFactory(LicensesDownloaderFactory licensesDownloaderFactory) {
         LicenseDownloadBuilderFactory.licensesDownloaderFactory = licensesDownloaderFactory;
     }
 
+    @FunctionalInterface
+    interface LicensesDownloaderFactory {
+
+        LicensesDownloader create(Configuration configuration, boolean revalidateCache, MetricsSink metricsSink);
+    }
+
 }
@@ -26,6 +26,7 @@ import hudson.model.Run.Artifact;
 import java.io.IOException;
 import java.io.Writer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
 import jenkins.util.VirtualFile;
@@ -51,6 +52,7 @@ import static org.mockito.hamcrest.MockitoHamcrest.argThat;
 import de.medavis.lct.core.list.ComponentData;
 import de.medavis.lct.core.list.ComponentLister;
 import de.medavis.lct.core.outputter.FreemarkerOutputter;
+import de.medavis.lct.core.outputter.OutputFormat;
 import de.medavis.lct.util.InputStreamContentArgumentMatcher;
 
 @ExtendWith(MockitoExtension.class)
@@ -67,6 +69,8 @@ class CreateManifestBuilderTest {
             new ComponentData("name", "version", "url", Collections.emptySet(), Collections.emptySet()));
     private static final String FAKE_SBOM = "Normally, this would be a CycloneDX SBOM.";
     private static final String FAKE_MANIFEST = "IRL, I would be the manifest";
+    private static final String AGENT_LABEL = "remote";
+    private static final String AGENT_COMPONENT_NAME = "org.example.example-library";
 
     @Mock(strictness = Strictness.LENIENT)
     private ComponentLister componentListerMock;
@@ -75,15 +79,16 @@ class CreateManifestBuilderTest {
 
     @BeforeEach
     public void setUp() throws IOException {
-        CreateManifestBuilderFactory.setComponentListerFactory((configuration, ignoreUnavailableUrl) -> componentListerMock);
-        when(componentListerMock.listComponents(argThat(new InputStreamContentArgumentMatcher(FAKE_SBOM)))).thenReturn(COMPONENT_LIST);
+        CreateManifestBuilderFactory.setComponentListerFactory((configuration, ignoreUnavailableUrl, metricsSink) -> componentListerMock);
+        when(componentListerMock.streamComponents(argThat(new InputStreamContentArgumentMatcher(FAKE_SBOM)))).thenAnswer(invocation -> COMPONENT_LIST.stream());
 
         CreateManifestBuilderFactory.setOutputterFactory(() -> outputterMock);
+        when(outputterMock.withMetricsSink(any())).thenReturn(outputterMock);
         doAnswer(invocation -> {
             Writer writer = invocation.getArgument(1, Writer.class);
             writer.write(FAKE_MANIFEST);
             return null;
-        }).when(outputterMock).output(any(), any(), any());
+        }).when(outputterMock).outputStreaming(any(), any(), any());
     }
 
     @Test
@@ -93,6 +98,7 @@ class CreateManifestBuilderTest {
         builder.setTemplateUrl(TEMPLATE_URL);
         builder.setIgnoreUnavailableUrl(true);
         builder.setConfigurationProfile(CONFIGURATION_PROFILE);
+        builder.setFormat(OutputFormat.JSON);
         project.getBuildersList().add(builder);
         project = jenkins.configRoundtrip(project);
 
@@ -109,14 +115,23 @@ class CreateManifestBuilderTest {
         runAndAssertPipelineJob(jenkins, "declarativePipeline.groovy");
     }
 
-    private void runAndAssertPipelineJob(JenkinsRule jenkins, String pipelineFile) throws Exception {
-        String agentLabel = "any";
-        jenkins.createOnlineSlave(Label.get(agentLabel));
-        WorkflowJob job = jenkins.createProject(WorkflowJob.class, "test-scripted-pipeline");
-        String pipelineScript = Resources.toString(getClass().getResource(pipelineFile), Charset.defaultCharset());
-        job.setDefinition(new CpsFlowDefinition(pipelineScript, true));
+    /**
+     * The agent runs in its own JVM, so the mocks are not used there and the manifest is created from a real BOM with the default configuration. This
+     * covers sending the callable and the configuration to the agent.
+     */
+    @Test
+    void testPipelineBuildOnAgent(JenkinsRule jenkins) throws Exception {
+        jenkins.createOnlineSlave(Label.get(AGENT_LABEL));
 
-        WorkflowRun run = jenkins.buildAndAssertSuccess(job);
+        WorkflowRun run = runPipelineJob(jenkins, "agentPipeline.groovy");
+
+        assertThat(run.getArtifacts()).extracting(Artifact::getFileName).containsExactly(ARCHIVE_FILENAME);
+        assertThat(run.getArtifactManager().root().child(ARCHIVE_FILENAME).open()).asString(StandardCharsets.UTF_8).contains(AGENT_COMPONENT_NAME);
+    }
+
+    private void runAndAssertPipelineJob(JenkinsRule jenkins, String pipelineFile) throws Exception {
+        // Without agents, the manifest is created on the built-in node, in the same JVM as the mocks
+        WorkflowRun run = runPipelineJob(jenkins, pipelineFile);
 
         assertThat(run.getArtifacts()).extracting(Artifact::getFileName).containsExactly(ARCHIVE_FILENAME);
         final VirtualFile outputFile = run.getArtifactManager().root().child(ARCHIVE_FILENAME);
@@ -128,4 +143,11 @@ class CreateManifestBuilderTest {
         }
     }
 
+    private WorkflowRun runPipelineJob(JenkinsRule jenkins, String pipelineFile) throws Exception {
+        WorkflowJob job = jenkins.createProject(WorkflowJob.class, "test-scripted-pipeline");
+        String pipelineScript = Resources.toString(getClass().getResource(pipelineFile), Charset.defaultCharset());
+        job.setDefinition(new CpsFlowDefinition(pipelineScript, true));
+        return jenkins.buildAndAssertSuccess(job);
+    }
+
 }
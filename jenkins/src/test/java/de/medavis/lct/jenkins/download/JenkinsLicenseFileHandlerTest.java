@@ -20,6 +20,7 @@
 package de.medavis.lct.jenkins.download;
 
 import hudson.FilePath;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
@@ -28,12 +29,15 @@ import org.junit.jupiter.api.io.TempDir;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import de.medavis.lct.core.downloader.CacheValidators;
+
 class JenkinsLicenseFileHandlerTest {
 
     private static final String OUTPUT_PATH = "licenses";
     private static final String LICENSE_NAME = "FKL-1.0";
     private static final String EXTENSION = ".txt";
     private static final String LICENSE_CONTENT = "Fake License 1.0";
+    private static final String LICENSE_URL = "https://example.com/FKL-1.0.txt";
     private static final byte[] LICENSE_CONTENT_BYTES = "Fake License 1.0".getBytes(StandardCharsets.UTF_8);
 
     @TempDir
@@ -54,4 +58,42 @@ class JenkinsLicenseFileHandlerTest {
 
         assertThat(targetLicenseFile).exists().hasContent(LICENSE_CONTENT);
     }
+
+    @Test
+    void shouldSaveStreamedLicenseToOutputAndCache() throws IOException {
+        var sut = new JenkinsLicenseFileHandler(new FilePath(workspacePath.toFile()), OUTPUT_PATH);
+
+        sut.save(LICENSE_NAME, EXTENSION, new ByteArrayInputStream(LICENSE_CONTENT_BYTES));
+
+        assertThat(workspacePath.resolve(OUTPUT_PATH).resolve(LICENSE_NAME + EXTENSION)).exists().hasContent(LICENSE_CONTENT);
+        assertThat(workspacePath.resolve(".lct/cache/licenses").resolve(LICENSE_NAME + EXTENSION)).exists().hasContent(LICENSE_CONTENT);
+    }
+
+    @Test
+    void shouldShareCachedLicenseWithOtherWorkspaces(@TempDir Path otherWorkspacePath, @TempDir Path sharedCachePath) throws IOException {
+        var sut = new JenkinsLicenseFileHandler(new FilePath(workspacePath.toFile()), OUTPUT_PATH, sharedCachePath.toString());
+        var other = new JenkinsLicenseFileHandler(new FilePath(otherWorkspacePath.toFile()), OUTPUT_PATH, sharedCachePath.toString());
+
+        sut.save(LICENSE_NAME, LICENSE_URL, EXTENSION, new ByteArrayInputStream(LICENSE_CONTENT_BYTES));
+
+        assertThat(other.isCached(LICENSE_NAME)).isFalse();
+        assertThat(other.isCached(LICENSE_NAME, LICENSE_URL)).isTrue();
+        assertThat(other.isCached(LICENSE_NAME, "https://example.com/other")).isFalse();
+        other.copyFromCache(LICENSE_NAME, LICENSE_URL);
+        assertThat(otherWorkspacePath.resolve(OUTPUT_PATH).resolve(LICENSE_NAME + EXTENSION)).exists().hasContent(LICENSE_CONTENT);
+    }
+
+    @Test
+    void shouldShareCacheValidatorsWithOtherWorkspaces(@TempDir Path otherWorkspacePath, @TempDir Path sharedCachePath) throws IOException {
+        var sut = new JenkinsLicenseFileHandler(new FilePath(workspacePath.toFile()), OUTPUT_PATH, sharedCachePath.toString());
+        var other = new JenkinsLicenseFileHandler(new FilePath(otherWorkspacePath.toFile()), OUTPUT_PATH, sharedCachePath.toString());
+        var validators = new CacheValidators("\"v1\"", "Wed, 01 May 2024 10:00:00 GMT");
+
+        sut.save(LICENSE_NAME, LICENSE_URL, EXTENSION, new ByteArrayInputStream(LICENSE_CONTENT_BYTES));
+        sut.saveCacheValidators(LICENSE_NAME, LICENSE_URL, validators);
+
+        assertThat(other.getCacheValidators(LICENSE_NAME, LICENSE_URL)).contains(validators);
+        assertThat(other.getCacheValidators(LICENSE_NAME, "https://example.com/other")).isEmpty();
+        assertThat(workspacePath.resolve(".lct/cache/validators.properties")).doesNotExist();
+    }
 }
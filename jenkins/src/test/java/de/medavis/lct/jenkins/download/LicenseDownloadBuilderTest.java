@@ -107,6 +107,9 @@ class LicenseDownloadBuilderTest {
         final LicenseDownloadBuilder builder = new LicenseDownloadBuilder(INPUT_PATH, OUTPUT_PATH);
         builder.setFailOnDynamicLicense(true);
         builder.setConfigurationProfile(CONFIGURATION_PROFILE);
+        builder.setParallelDownloads(4);
+        builder.setSharedCachePath("/var/cache/lct/licenses");
+        builder.setRevalidateCache(true);
         project.getBuildersList().add(builder);
         project = jenkins.configRoundtrip(project);
 
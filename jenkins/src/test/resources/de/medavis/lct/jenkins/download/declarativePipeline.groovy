@@ -23,7 +23,7 @@ pipeline {
     stages {
         stage('Hello') {
             steps {
-                downloadLicenses inputPath: 'input.json', outputPath: 'output/licenses'
+                downloadLicenses inputPath: 'input.json', outputPath: 'output/licenses', parallelDownloads: 2
             }
         }
     }